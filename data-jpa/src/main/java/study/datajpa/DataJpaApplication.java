@@ -5,12 +5,15 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import study.datajpa.base.bulk.BulkJpaRepositoryImpl;
 
 import java.beans.JavaBean;
 import java.util.Optional;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableJpaRepositories(repositoryBaseClass = BulkJpaRepositoryImpl.class) // 벌크 update / delete 지원
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,15 @@
+package study.datajpa.base.bulk;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+
+/**
+ * 벌크 update의 set 절
+ * ex) (update, root, cb) -> update.set(root.get("age"), cb.sum(root.get("age"), 1))
+ */
+@FunctionalInterface
+public interface BulkAssignment<T> {
+
+    void apply(CriteriaUpdate<T> update, Root<T> root, CriteriaBuilder cb);
+}
@@ -0,0 +1,25 @@
+package study.datajpa.base.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 청크 하나를 처리한 결과
+ * 다음 청크는 lastId 이후부터 처리한다. (id 기준 keyset)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkChunk<ID> {
+
+    private final int affected;
+    private final ID lastId;
+    private final boolean hasNext;
+
+    public static <ID> BulkChunk<ID> first() {
+        return new BulkChunk<>(0, null, true);
+    }
+
+    public static <ID> BulkChunk<ID> last() {
+        return new BulkChunk<>(0, null, false);
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.base.bulk;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+/**
+ * 벌크 update / delete 대상 조건 (null 이면 전체)
+ * Specification과 같은 역할이지만 CriteriaUpdate, CriteriaDelete에도 쓸 수 있도록 CriteriaQuery를 받지 않는다.
+ */
+@FunctionalInterface
+public interface BulkCondition<T> {
+
+    Predicate toPredicate(Root<T> root, CriteriaBuilder cb);
+}
@@ -0,0 +1,48 @@
+package study.datajpa.base.bulk;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Criteria 기반 벌크 update / delete
+ * 엔티티를 읽어서 하나씩 고치는 대신 update / delete 쿼리 한 번으로 처리한다.
+ * - 실행 전에 flush, 실행 후에 영속성 컨텍스트를 비운다. (@Modifying(flushAutomatically, clearAutomatically)와 같음)
+ * - 2차 캐시, 쿼리 캐시는 하이버네이트가 대상 엔티티 region을 무효화한다.
+ * 대량 변경은 InChunks 메서드로 chunkSize 건씩 나눠서 각각 새 트랜잭션으로 커밋해 락을 오래 잡지 않게 한다.
+ */
+@NoRepositoryBean
+public interface BulkJpaRepository<T, ID> extends JpaRepository<T, ID> {
+
+    int updateWhere(BulkCondition<T> where, BulkAssignment<T> set);
+
+    int deleteWhere(BulkCondition<T> where);
+
+    // 청크 하나를 새 트랜잭션(REQUIRES_NEW)으로 처리한다.
+    BulkChunk<ID> updateChunk(BulkCondition<T> where, BulkAssignment<T> set, ID afterId, int chunkSize);
+
+    BulkChunk<ID> deleteChunk(BulkCondition<T> where, ID afterId, int chunkSize);
+
+    /**
+     * 청크 단위로 나눠서 update 한다. (default 메서드라 청크마다 프록시를 거쳐 트랜잭션이 따로 열린다.)
+     * 청크마다 커밋되므로 중간에 실패하면 앞의 청크는 반영된 상태로 남는다.
+     */
+    default long updateWhereInChunks(BulkCondition<T> where, BulkAssignment<T> set, int chunkSize) {
+        long total = 0;
+        BulkChunk<ID> chunk = BulkChunk.first();
+        while (chunk.isHasNext()) {
+            chunk = updateChunk(where, set, chunk.getLastId(), chunkSize);
+            total += chunk.getAffected();
+        }
+        return total;
+    }
+
+    default long deleteWhereInChunks(BulkCondition<T> where, int chunkSize) {
+        long total = 0;
+        BulkChunk<ID> chunk = BulkChunk.first();
+        while (chunk.isHasNext()) {
+            chunk = deleteChunk(where, chunk.getLastId(), chunkSize);
+            total += chunk.getAffected();
+        }
+        return total;
+    }
+}
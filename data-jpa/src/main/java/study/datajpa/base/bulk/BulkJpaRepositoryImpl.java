@@ -0,0 +1,134 @@
+package study.datajpa.base.bulk;
+
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * 모든 스프링 데이터 JPA 리포지토리의 기본 구현 (@EnableJpaRepositories(repositoryBaseClass))
+ * BulkJpaRepository를 상속한 리포지토리에서만 벌크 메서드가 보인다.
+ */
+public class BulkJpaRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements BulkJpaRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager em;
+
+    public BulkJpaRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        super(entityInformation, em);
+        this.entityInformation = entityInformation;
+        this.em = em;
+    }
+
+    @Override
+    @Transactional
+    public int updateWhere(BulkCondition<T> where, BulkAssignment<T> set) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(getDomainClass());
+        Root<T> root = update.from(getDomainClass());
+        set.apply(update, root, cb);
+        update.where(predicate(where, root, cb));
+
+        return execute(em.createQuery(update));
+    }
+
+    @Override
+    @Transactional
+    public int deleteWhere(BulkCondition<T> where) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(getDomainClass());
+        Root<T> root = delete.from(getDomainClass());
+        delete.where(predicate(where, root, cb));
+
+        return execute(em.createQuery(delete));
+    }
+
+    @Override
+    @Transactional(propagation = REQUIRES_NEW)
+    public BulkChunk<ID> updateChunk(BulkCondition<T> where, BulkAssignment<T> set, ID afterId, int chunkSize) {
+        List<ID> ids = findChunkIds(where, afterId, chunkSize);
+        if (ids.isEmpty()) {
+            return BulkChunk.last();
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(getDomainClass());
+        Root<T> root = update.from(getDomainClass());
+        set.apply(update, root, cb);
+        // id를 고른 뒤 조건이 바뀐 row는 건드리지 않도록 조건도 다시 건다.
+        update.where(cb.and(idPath(root).in(ids), predicate(where, root, cb)));
+
+        return new BulkChunk<>(execute(em.createQuery(update)), ids.get(ids.size() - 1), ids.size() == chunkSize);
+    }
+
+    @Override
+    @Transactional(propagation = REQUIRES_NEW)
+    public BulkChunk<ID> deleteChunk(BulkCondition<T> where, ID afterId, int chunkSize) {
+        List<ID> ids = findChunkIds(where, afterId, chunkSize);
+        if (ids.isEmpty()) {
+            return BulkChunk.last();
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(getDomainClass());
+        Root<T> root = delete.from(getDomainClass());
+        delete.where(cb.and(idPath(root).in(ids), predicate(where, root, cb)));
+
+        return new BulkChunk<>(execute(em.createQuery(delete)), ids.get(ids.size() - 1), ids.size() == chunkSize);
+    }
+
+    // 조건에 맞는 id를 afterId 이후부터 chunkSize 개
+    @SuppressWarnings("unchecked")
+    private List<ID> findChunkIds(BulkCondition<T> where, ID afterId, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다. chunkSize = " + chunkSize);
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ID> query = cb.createQuery((Class<ID>) entityInformation.getIdType());
+        Root<T> root = query.from(getDomainClass());
+        Path<Comparable<Object>> id = idPath(root);
+
+        Predicate predicate = predicate(where, root, cb);
+        if (afterId != null) {
+            predicate = cb.and(predicate, cb.greaterThan(id, (Comparable<Object>) afterId));
+        }
+
+        query.select((Path<ID>) (Path<?>) id)
+                .where(predicate)
+                .orderBy(cb.asc(id));
+
+        return em.createQuery(query)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+
+    private Path<Comparable<Object>> idPath(Root<T> root) {
+        return root.get(entityInformation.getIdAttribute().getName());
+    }
+
+    private Predicate predicate(BulkCondition<T> where, Root<T> root, CriteriaBuilder cb) {
+        Predicate predicate = where == null ? null : where.toPredicate(root, cb);
+        return predicate == null ? cb.conjunction() : predicate;
+    }
+
+    // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전에 내보내고, 실행 후에 비워서 이전 값을 읽지 않게 한다.
+    private int execute(Query query) {
+        em.flush();
+        int affected = query.executeUpdate();
+        em.clear();
+        return affected;
+    }
+}
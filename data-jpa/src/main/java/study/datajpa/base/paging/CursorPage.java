@@ -0,0 +1,52 @@
+package study.datajpa.base.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이징 결과
+ * limit + 1 건을 조회해서 한 건이 더 있으면 다음 페이지가 있다고 판단한다. (count 쿼리 X)
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> data;
+    private String nextCursor; // 다음 페이지가 없으면 null
+    private boolean hasNext;
+
+    /**
+     * 요청한 페이지 크기를 MAX_LIMIT 으로 자른다.
+     * 조회는 limit + 1 건을 가져오기 때문에 자르지 않으면 한 번에 너무 많이 읽고, Integer.MAX_VALUE 면 overflow 난다.
+     */
+    public static int limitOf(int limit) {
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다. limit = " + limit);
+        }
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+
+        List<T> data = new ArrayList<>(rows.subList(0, limit));
+        String nextCursor = cursorOf.apply(data.get(data.size() - 1)).encode();
+        return new CursorPage<>(data, nextCursor, true);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> converter) {
+        List<R> converted = new ArrayList<>(data.size());
+        for (T row : data) {
+            converted.add(converter.apply(row));
+        }
+        return new CursorPage<>(converted, nextCursor, hasNext);
+    }
+}
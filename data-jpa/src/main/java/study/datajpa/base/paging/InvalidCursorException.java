@@ -0,0 +1,17 @@
+package study.datajpa.base.paging;
+
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * 클라이언트가 보낸 cursor 토큰을 해석할 수 없을 때
+ * 서버 오류(500)가 아니라 잘못된 요청(400)으로 응답한다.
+ */
+@ResponseStatus(BAD_REQUEST)
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
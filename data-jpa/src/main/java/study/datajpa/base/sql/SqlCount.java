@@ -0,0 +1,72 @@
+package study.datajpa.base.sql;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 요청(또는 테스트 구간) 동안 실행된 SQL 통계
+ * 같은 모양(파라미터 바인딩 전 SQL)의 select가 여러 번 반복되면 N + 1을 의심할 수 있다.
+ */
+@Getter
+public class SqlCount {
+
+    private int total;
+    private int select;
+    private int insert;
+    private int update;
+    private int delete;
+    private long elapsedNanos;
+    private long rows; // 읽은 row + 변경된 row
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Integer> selectShapes = new HashMap<>();
+
+    void record(String sql, long elapsedNanos) {
+        this.total++;
+        this.elapsedNanos += elapsedNanos;
+
+        String statement = sql == null ? "" : sql.trim();
+        String keyword = statement.length() < 6 ? statement : statement.substring(0, 6);
+        if (keyword.equalsIgnoreCase("select") || keyword.regionMatches(true, 0, "with", 0, 4)) {
+            this.select++;
+            selectShapes.merge(statement, 1, Integer::sum);
+        } else if (keyword.equalsIgnoreCase("insert")) {
+            this.insert++;
+        } else if (keyword.equalsIgnoreCase("update")) {
+            this.update++;
+        } else if (keyword.equalsIgnoreCase("delete")) {
+            this.delete++;
+        }
+    }
+
+    void recordRows(long rows) {
+        this.rows += rows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    // 같은 모양의 select가 가장 많이 반복된 횟수
+    public int getMaxRepeatedSelect() {
+        int max = 0;
+        for (Integer count : selectShapes.values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    public String getMostRepeatedSelect() {
+        String mostRepeated = null;
+        int max = 0;
+        for (Map.Entry<String, Integer> entry : selectShapes.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                mostRepeated = entry.getKey();
+            }
+        }
+        return mostRepeated;
+    }
+}
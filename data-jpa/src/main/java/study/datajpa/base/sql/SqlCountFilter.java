@@ -0,0 +1,92 @@
+package study.datajpa.base.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 실행된 SQL 수, JDBC 시간을 메트릭으로 남긴다.
+ * 같은 모양의 select가 임계치 이상 반복되면 N + 1 의심으로 경고 로그를 남긴다.
+ * 응답 헤더(app.sql.headers.enabled)는 개발용으로 켤 때만 쓴다.
+ * 헤더는 응답 바디가 커밋되기 전에 써야 하기 때문에 바디를 버퍼링했다가 마지막에 내보내야 해서, 운영에서는 끈다.
+ */
+@Slf4j
+@Component
+public class SqlCountFilter extends OncePerRequestFilter {
+
+    public static final String SQL_COUNT_HEADER = "X-Sql-Count";
+    public static final String SQL_TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String SQL_REPEATED_HEADER = "X-Sql-Max-Repeated";
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean headersEnabled;
+
+    public SqlCountFilter(MeterRegistry meterRegistry,
+                          @Value("${app.sql.n-plus-one-threshold:3}") int nPlusOneThreshold,
+                          @Value("${app.sql.headers.enabled:false}") boolean headersEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.headersEnabled = headersEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!headersEnabled) {
+            SqlCount sqlCount = SqlCountHolder.start();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                SqlCountHolder.clear();
+                record(request, sqlCount);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        SqlCount sqlCount = SqlCountHolder.start();
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            SqlCountHolder.clear();
+            writeHeaders(responseWrapper, sqlCount);
+            record(request, sqlCount);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, SqlCount sqlCount) {
+        response.setHeader(SQL_COUNT_HEADER, String.valueOf(sqlCount.getTotal()));
+        response.setHeader(SQL_TIME_HEADER, String.valueOf(sqlCount.getElapsedMillis()));
+        response.setHeader(SQL_REPEATED_HEADER, String.valueOf(sqlCount.getMaxRepeatedSelect()));
+    }
+
+    private void record(HttpServletRequest request, SqlCount sqlCount) {
+        String uri = uriPattern(request);
+        meterRegistry.summary("http.server.requests.sql.count", "uri", uri).record(sqlCount.getTotal());
+        meterRegistry.summary("http.server.requests.sql.time", "uri", uri).record(sqlCount.getElapsedMillis());
+
+        if (sqlCount.getMaxRepeatedSelect() >= nPlusOneThreshold) {
+            meterRegistry.counter("http.server.requests.sql.n-plus-one", "uri", uri).increment();
+            log.warn("N + 1 의심 [{} {}] 같은 select {}번 반복 : {}", request.getMethod(), uri,
+                    sqlCount.getMaxRepeatedSelect(), sqlCount.getMostRepeatedSelect());
+        }
+    }
+
+    // 메트릭 태그가 무한히 늘어나지 않도록 실제 uri 대신 매핑된 패턴(/members/{id})을 쓴다.
+    private String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
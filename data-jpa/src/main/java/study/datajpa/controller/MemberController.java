@@ -5,17 +5,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.base.paging.Cursor;
+import study.datajpa.base.paging.CursorPage;
 import study.datajpa.member.entity.Member;
+import study.datajpa.member.repository.MemberJpaRepository;
 import study.datajpa.member.repository.MemberRepository;
+import study.datajpa.member.repository.projection.MemberSummary;
+import study.datajpa.member.repository.projection.MemberView;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberJpaRepository memberJpaRepository;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -28,12 +36,22 @@ public class MemberController {
         return member.getUsername();
     }
 
+    // 엔티티 대신 id, username, age만 조회해서 내려준다. (team, 생성일 등은 읽지도 직렬화하지도 않는다.)
     @GetMapping("/members")
-    public Page<Member> list(Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
+    public Page<MemberSummary> list(Pageable pageable) {
+        Page<MemberSummary> page = memberRepository.findAllBy(pageable, MemberSummary.class);
         return page;
     }
 
+    // ?cursor= 로 요청하면 offset 대신 keyset 페이징 (첫 페이지는 빈 값, size는 최대 CursorPage.MAX_LIMIT)
+    @GetMapping(value = "/members", params = "cursor")
+    public CursorPage<MemberView> listByCursor(@RequestParam("cursor") String cursor,
+                                               @RequestParam(value = "size", defaultValue = "20") int size) {
+        int limit = CursorPage.limitOf(size);
+        List<MemberView> members = memberJpaRepository.findAllByCursor(Cursor.decode(cursor), limit);
+        return CursorPage.of(members, limit, m -> Cursor.of(m.id()));
+    }
+
     @PostConstruct
     public void init() {
         for (int i = 1; i <= 100; i++) {
@@ -3,6 +3,7 @@ package study.datajpa.member.entity;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
 import study.datajpa.base.BaseEntity;
 import study.datajpa.base.JpaBaseEntity;
 import study.datajpa.team.entity.Team;
@@ -12,11 +13,14 @@ import javax.persistence.*;
 import static javax.persistence.FetchType.LAZY;
 import static javax.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(exclude = {"team"})
+@Cache(usage = READ_WRITE, region = "member") // 쿼리 캐시는 id만 저장하므로 엔티티도 캐시해야 한다.
+@Table(indexes = @Index(name = "idx_member_age_username_id", columnList = "age, username, id")) // 나이별 keyset 페이징 (MemberJpaRepository.findListByCursor)
 public class Member extends BaseEntity {
 
     @Id
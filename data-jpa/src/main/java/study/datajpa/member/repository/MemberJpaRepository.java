@@ -2,9 +2,12 @@ package study.datajpa.member.repository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import study.datajpa.base.paging.Cursor;
 import study.datajpa.member.entity.Member;
+import study.datajpa.member.repository.projection.MemberView;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,6 +73,41 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    // 페이징 (keyset) - 마지막 (username, id) 이후부터 조회, 다음 페이지 확인용으로 limit + 1건
+    public List<Member> findListByCursor(int age, Cursor cursor, int limit) {
+        TypedQuery<Member> query;
+        if (cursor.isFirst()) {
+            query = em.createQuery("select m from Member m where m.age = :age" +
+                    " order by m.username desc, m.id desc", Member.class);
+        } else {
+            query = em.createQuery("select m from Member m where m.age = :age" +
+                    " and (m.username < :username or (m.username = :username and m.id < :id))" +
+                    " order by m.username desc, m.id desc", Member.class)
+                    .setParameter("username", cursor.getLastSortKey())
+                    .setParameter("id", cursor.getLastId());
+        }
+
+        return query.setParameter("age", age)
+                .setMaxResults(limit + 1)
+                .getResultList();
+    }
+
+    // 목록 API용 keyset 페이징 - 엔티티 대신 id, username, age만 조회한다.
+    public List<MemberView> findAllByCursor(Cursor cursor, int limit) {
+        TypedQuery<MemberView> query;
+        if (cursor.isFirst()) {
+            query = em.createQuery("select new study.datajpa.member.repository.projection.MemberView(m.id, m.username, m.age)" +
+                    " from Member m order by m.id", MemberView.class);
+        } else {
+            query = em.createQuery("select new study.datajpa.member.repository.projection.MemberView(m.id, m.username, m.age)" +
+                    " from Member m where m.id > :id order by m.id", MemberView.class)
+                    .setParameter("id", cursor.getLastId());
+        }
+
+        return query.setMaxResults(limit + 1)
+                .getResultList();
+    }
+
     // 결과의 개수
     public long count(int age) {
         return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
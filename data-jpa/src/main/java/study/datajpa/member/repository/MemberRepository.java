@@ -3,18 +3,21 @@ package study.datajpa.member.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import study.datajpa.base.bulk.BulkJpaRepository;
 import study.datajpa.member.entity.Member;
 import study.datajpa.member.entity.MemberDto;
 import study.datajpa.member.repository.custom.MemberRepositoryCustom;
+import study.datajpa.member.repository.projection.MemberTeamSummary;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+public interface MemberRepository extends BulkJpaRepository<Member, Long>, MemberRepositoryCustom {
 
     // public abstract 생략
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
@@ -25,13 +28,21 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select m from Member m where m.username = :username")
     List<Member> findMember(@Param("username") String username);
 
+    // 쿼리 캐시 : Member, Team 테이블에 쓰기(벌크 연산 포함)가 커밋되면 하이버네이트가 자동으로 무효화한다.
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select new study.datajpa.member.entity.MemberDto(m.id, m.username, t.name) " +
             "from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    // findMemberDto와 같은 결과를 별칭 기반 인터페이스 프로젝션으로
+    @Query("select m.id as id, m.username as username, t.name as teamName " +
+            "from Member m join m.team t")
+    List<MemberTeamSummary> findMemberTeamSummaries();
+
     @Query("select m from Member m where m.username in :names")
     List<Member> findByNames(@Param("names") List<String> names);
 
@@ -39,12 +50,21 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Member findMemberByUsername(String name);
     Optional<Member> findOptionalByUsername(String name);
 
-    // count 쿼리가 함께 나감
+    // count 쿼리가 함께 나감 (count 쿼리도 같이 캐시된다.)
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Page<Member> findByAgeGreaterThanEqual(int age, Pageable pageable);
 
     @Query(value = "select m from Member m left join m.team t", countQuery = "select count(m) from Member m")
     Page<Member> findBy(Pageable pageable);
 
+    /**
+     * 동적 프로젝션 : 반환 타입을 호출하는 쪽에서 고른다.
+     * findAllBy(pageable, MemberSummary.class), findAllBy(pageable, MemberView.class), findAllBy(pageable, Member.class)
+     */
+    <T> Page<T> findAllBy(Pageable pageable, Class<T> type);
+
+    <T> List<T> findByUsername(String username, Class<T> type);
+
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
     int bulkUpdate(@Param("age") int age);
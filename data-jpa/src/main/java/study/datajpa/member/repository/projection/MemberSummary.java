@@ -0,0 +1,11 @@
+package study.datajpa.member.repository.projection;
+
+/**
+ * 회원 목록용 닫힌(closed) 인터페이스 프로젝션
+ * 선언한 getter의 컬럼만 select 하고, 엔티티를 만들지 않는다. (영속성 컨텍스트, 2차 캐시를 거치지 않는다.)
+ */
+public interface MemberSummary {
+    Long getId();
+    String getUsername();
+    int getAge();
+}
@@ -0,0 +1,11 @@
+package study.datajpa.member.repository.projection;
+
+/**
+ * 조인 결과를 받는 인터페이스 프로젝션
+ * JPQL의 별칭(as)과 getter 이름을 맞추면 되므로 DTO 생성자 표현식(new 패키지.클래스명)이 필요 없다.
+ */
+public interface MemberTeamSummary {
+    Long getId();
+    String getUsername();
+    String getTeamName();
+}
@@ -0,0 +1,8 @@
+package study.datajpa.member.repository.projection;
+
+/**
+ * 레코드 DTO 프로젝션
+ * 생성자 파라미터 이름이 엔티티 필드 이름과 같아야 한다. (Spring Data가 파라미터 이름으로 select 컬럼을 정한다.)
+ */
+public record MemberView(Long id, String username, int age) {
+}
@@ -3,6 +3,7 @@ package study.datajpa.team.entity;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
 import study.datajpa.member.entity.Member;
 
 import javax.persistence.*;
@@ -12,11 +13,13 @@ import java.util.List;
 
 import static javax.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(exclude = {"members"})
+@Cache(usage = READ_WRITE, region = "team")
 public class Team {
 
     @Id @GeneratedValue(strategy = IDENTITY)
@@ -0,0 +1,77 @@
+package study.datajpa.base.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.member.entity.Member;
+import study.datajpa.member.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크마다 새 트랜잭션으로 커밋하기 때문에 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ * 개발 DB를 같이 쓰기 때문에 조건과 정리 모두 테스트가 넣은 회원 id로만 좁힌다.
+ */
+@SpringBootTest
+class BulkJpaRepositoryTest {
+
+    private static final int AGE = 555;
+    private static final int MEMBER_COUNT = 10;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= MEMBER_COUNT; i++) {
+            memberIds.add(memberRepository.save(new Member("bulk" + i, AGE)).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllByIdInBatch(memberIds);
+    }
+
+    @Test
+    void updateWhere() throws Exception {
+        // 2차 캐시에 올려둔다.
+        memberRepository.findById(memberIds.get(0));
+
+        int affected = memberRepository.updateWhere(
+                (root, cb) -> cb.and(root.get("id").in(memberIds), cb.equal(root.get("age"), AGE)),
+                (update, root, cb) -> update.set(root.<Integer>get("age"), cb.sum(root.get("age"), 1)));
+
+        assertThat(affected).isEqualTo(MEMBER_COUNT);
+        // 벌크 update 후 캐시에 남은 이전 값을 읽지 않아야 한다.
+        assertThat(memberRepository.findById(memberIds.get(0)).get().getAge()).isEqualTo(AGE + 1);
+    }
+
+    @Test
+    void updateWhereInChunks() throws Exception {
+        // 바뀐 값도 조건에 맞지만 id 기준으로 넘어가기 때문에 한 번씩만 update 된다.
+        long affected = memberRepository.updateWhereInChunks(
+                (root, cb) -> cb.and(root.get("id").in(memberIds), cb.greaterThanOrEqualTo(root.get("age"), AGE)),
+                (update, root, cb) -> update.set(root.<Integer>get("age"), cb.sum(root.get("age"), 1)),
+                3);
+
+        assertThat(affected).isEqualTo(MEMBER_COUNT);
+        assertThat(memberRepository.findAllById(memberIds)).extracting("age").containsOnly(AGE + 1);
+    }
+
+    @Test
+    void deleteWhereInChunks() throws Exception {
+        long affected = memberRepository.deleteWhereInChunks(
+                (root, cb) -> root.get("id").in(memberIds), 4);
+
+        assertThat(affected).isEqualTo(MEMBER_COUNT);
+        assertThat(memberRepository.findAllById(memberIds)).isEmpty();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.base.paging.CursorPage;
 import study.datajpa.member.entity.Member;
 import study.datajpa.member.repository.MemberRepository;
 
@@ -34,4 +35,40 @@ class MemberControllerTest {
                 .andExpect(content().string("박은빈"))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    void list() throws Exception {
+        memberRepository.save(new Member("박은빈", 32));
+
+        // 프로젝션 필드만 내려가고 team, 생성일 같은 엔티티 필드는 빠진다.
+        mvc.perform(get("/members").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].username").exists())
+                .andExpect(jsonPath("$.content[0].age").exists())
+                .andExpect(jsonPath("$.content[0].team").doesNotExist())
+                .andExpect(jsonPath("$.content[0].createdDate").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    void listByCursor_size_최대값() throws Exception {
+        memberRepository.save(new Member("박은빈", 32));
+
+        // size가 커도 MAX_LIMIT 까지만 내려간다. (limit + 1 overflow 방지)
+        mvc.perform(get("/members").param("cursor", "").param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(CursorPage.MAX_LIMIT))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.data[0].username").exists())
+                .andExpect(jsonPath("$.data[0].team").doesNotExist())
+                .andExpect(jsonPath("$.data[0].createdDate").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    void listByCursor_잘못된_cursor() throws Exception {
+        mvc.perform(get("/members").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
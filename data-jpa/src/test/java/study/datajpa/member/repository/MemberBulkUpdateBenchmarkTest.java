@@ -0,0 +1,82 @@
+package study.datajpa.member.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.base.bulk.BulkAssignment;
+import study.datajpa.base.bulk.BulkCondition;
+import study.datajpa.member.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 이름 변경 처리량 비교
+ * 1. 조회 + 더티 체킹 : 회원 수만큼 select 결과를 올리고 update가 회원 수만큼 나간다.
+ * 2. 벌크 update : update 쿼리 한 번
+ * 3. 청크 벌크 update : 청크마다 id 조회 + update, 청크마다 커밋해서 락을 짧게 잡는다.
+ * 개발 DB를 같이 쓰기 때문에 대상과 정리 모두 테스트가 넣은 회원 id로만 좁힌다.
+ */
+@SpringBootTest
+class MemberBulkUpdateBenchmarkTest {
+
+    private static final int MEMBER_COUNT = 1000;
+    private static final int CHUNK_SIZE = 100;
+    private static final String PREFIX = "benchmark";
+
+    private static final BulkAssignment<Member> RENAME = (update, root, cb) ->
+            update.set(root.<String>get("username"), cb.concat(root.<String>get("username"), "_"));
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    List<Long> memberIds = new ArrayList<>();
+    BulkCondition<Member> target = (root, cb) -> root.get("id").in(memberIds);
+
+    @BeforeEach
+    void setUp() {
+        List<Member> members = new ArrayList<>(MEMBER_COUNT);
+        for (int i = 1; i <= MEMBER_COUNT; i++) {
+            members.add(new Member(PREFIX + i, i));
+        }
+        memberRepository.saveAll(members).forEach(m -> memberIds.add(m.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllByIdInBatch(memberIds);
+    }
+
+    @Test
+    void 이름변경_처리량() throws Exception {
+        measure("dirty checking", () -> transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findAllById(memberIds)
+                        .forEach(m -> m.changeName(m.getUsername() + "_"))));
+
+        measure("bulk update", () -> memberRepository.updateWhere(target, RENAME));
+
+        measure("chunked bulk update", () -> memberRepository.updateWhereInChunks(target, RENAME, CHUNK_SIZE));
+
+        // 세 방식 모두 같은 회원을 빠짐없이 한 번씩 바꿨는지
+        assertThat(memberRepository.findAllById(memberIds))
+                .hasSize(MEMBER_COUNT)
+                .allSatisfy(m -> assertThat(m.getUsername()).endsWith("___"));
+    }
+
+    private void measure(String name, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        System.out.println(name + " : members = " + MEMBER_COUNT + ", elapsed = " + elapsedMillis + "ms"
+                + ", throughput = " + (MEMBER_COUNT * 1000L / elapsedMillis) + " members/s");
+    }
+}
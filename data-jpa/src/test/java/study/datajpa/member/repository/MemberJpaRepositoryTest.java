@@ -1,16 +1,21 @@
 package study.datajpa.member.repository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.base.paging.Cursor;
+import study.datajpa.base.paging.CursorPage;
+import study.datajpa.base.sql.SqlCountHolder;
 import study.datajpa.member.entity.Member;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 
+import static study.datajpa.base.sql.SqlCountAssertions.assertSelectCount;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -23,6 +28,11 @@ class MemberJpaRepositoryTest {
     @PersistenceContext
     EntityManager em;
 
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
     @Test
     void entityTest() throws Exception {
         Member member = new Member("user1");
@@ -107,6 +117,32 @@ class MemberJpaRepositoryTest {
         assertThat(count).isEqualTo(10);
     }
 
+    @Test
+    void cursorPaging() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            memberJpaRepository.save(new Member("member" + (i % 3), 777));
+        }
+
+        SqlCountHolder.start();
+        List<Member> rows = memberJpaRepository.findListByCursor(777, Cursor.first(), 5);
+        assertSelectCount(1); // count 쿼리 없이 limit + 1건 조회 한 번
+        CursorPage<Member> firstPage = CursorPage.of(rows, 5,
+                m -> Cursor.of(m.getId(), m.getUsername()));
+
+        assertThat(firstPage.getData().size()).isEqualTo(5);
+        assertThat(firstPage.isHasNext()).isTrue();
+
+        // 토큰으로 다음 페이지 조회 -> 이름이 같은 회원도 id로 이어서 빠짐없이 조회된다.
+        List<Member> nextRows = memberJpaRepository.findListByCursor(777,
+                Cursor.decode(firstPage.getNextCursor()), 5);
+        CursorPage<Member> secondPage = CursorPage.of(nextRows, 5,
+                m -> Cursor.of(m.getId(), m.getUsername()));
+
+        assertThat(secondPage.getData().size()).isEqualTo(5);
+        assertThat(secondPage.isHasNext()).isFalse();
+        assertThat(secondPage.getData()).doesNotContainAnyElementsOf(firstPage.getData());
+    }
+
     @Test
     @Rollback(false)
     void bulkUpdate() throws Exception {
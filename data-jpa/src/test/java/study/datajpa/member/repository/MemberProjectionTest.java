@@ -0,0 +1,86 @@
+package study.datajpa.member.repository;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.member.entity.Member;
+import study.datajpa.member.repository.projection.MemberSummary;
+import study.datajpa.member.repository.projection.MemberTeamSummary;
+import study.datajpa.member.repository.projection.MemberView;
+import study.datajpa.team.entity.Team;
+import study.datajpa.team.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.PageRequest.of;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.domain.Sort.by;
+
+@SpringBootTest
+@Transactional
+class MemberProjectionTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void before() {
+        Team team = new Team("projectionTeam");
+        teamRepository.save(team);
+
+        memberRepository.save(new Member("projection1", 901, team));
+        memberRepository.save(new Member("projection2", 902, team));
+        memberRepository.save(new Member("projection3", 903));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 인터페이스_프로젝션_페이징() throws Exception {
+        Page<MemberSummary> page = memberRepository.findAllBy(of(0, 2, by(DESC, "age")), MemberSummary.class);
+
+        assertThat(page.getContent()).extracting(MemberSummary::getUsername).containsExactly("projection3", "projection2");
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+        // 엔티티로 조회하지 않았으므로 영속성 컨텍스트가 비어 있다.
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    @Test
+    void 레코드_프로젝션() throws Exception {
+        List<MemberView> views = memberRepository.findByUsername("projection1", MemberView.class);
+
+        assertThat(views).containsExactly(new MemberView(views.get(0).id(), "projection1", 901));
+    }
+
+    @Test
+    void 동적_프로젝션으로_엔티티_조회() throws Exception {
+        List<Member> members = memberRepository.findByUsername("projection2", Member.class);
+
+        assertThat(members).extracting(Member::getAge).containsExactly(902);
+    }
+
+    @Test
+    void 별칭_기반_조인_프로젝션() throws Exception {
+        List<MemberTeamSummary> summaries = memberRepository.findMemberTeamSummaries();
+
+        // 팀이 없는 회원은 inner join으로 빠진다.
+        assertThat(summaries)
+                .filteredOn(s -> s.getUsername().startsWith("projection"))
+                .extracting(MemberTeamSummary::getTeamName)
+                .containsExactly("projectionTeam", "projectionTeam");
+    }
+}
@@ -0,0 +1,92 @@
+package study.datajpa.member.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.member.entity.Member;
+import study.datajpa.team.entity.Team;
+import study.datajpa.team.repository.TeamRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.PageRequest.of;
+
+/**
+ * 쿼리 캐시는 커밋된 데이터만 캐시하기 때문에 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class MemberQueryCacheTest {
+
+    private static final int AGE = 888;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
+    Statistics statistics;
+    Team team;
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        team = teamRepository.save(new Team("cacheTeam"));
+        members = memberRepository.saveAll(List.of(
+                new Member("cacheA", AGE, team),
+                new Member("cacheB", AGE + 1, team)));
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.delete(team);
+    }
+
+    @Test
+    void 같은쿼리_캐시적중() throws Exception {
+        memberRepository.findUsernameList();
+        memberRepository.findUsernameList();
+        memberRepository.findMemberDto();
+        memberRepository.findMemberDto();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 벌크연산후_캐시무효화() throws Exception {
+        Page<Member> before = memberRepository.findByAgeGreaterThanEqual(AGE, of(0, 10));
+        memberRepository.findByAgeGreaterThanEqual(AGE, of(0, 10));
+        long hitCount = statistics.getQueryCacheHitCount();
+        assertThat(hitCount).isPositive();
+
+        // 영속성 컨텍스트를 거치지 않는 벌크 연산도 member 테이블의 캐시된 쿼리 결과를 무효화해야 한다.
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkUpdate(AGE));
+
+        Page<Member> after = memberRepository.findByAgeGreaterThanEqual(AGE, of(0, 10));
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitCount);
+        assertThat(after.getContent()).extracting("age")
+                .containsExactlyInAnyOrderElementsOf(
+                        before.getContent().stream().map(m -> m.getAge() + 1).toList());
+    }
+}
@@ -0,0 +1,18 @@
+package com.study.querydsl.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QuerydslConfig {
+
+    /**
+     * 주입되는 EntityManager는 트랜잭션 단위로 위임하는 프록시라 JPAQueryFactory는 싱글톤으로 공유해도 된다.
+     */
+    @Bean
+    public JPAQueryFactory jpaQueryFactory(EntityManager em) {
+        return new JPAQueryFactory(em);
+    }
+}
@@ -0,0 +1,28 @@
+package com.study.querydsl.controller;
+
+import com.study.querydsl.dto.TeamStatsDto;
+import com.study.querydsl.service.TeamStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamStatsController {
+
+    private final TeamStatsService teamStatsService;
+
+    @GetMapping("/api/teams/stats")
+    public List<TeamStatsDto> teamStats() {
+        return teamStatsService.findAll();
+    }
+
+    @GetMapping("/api/teams/{teamName}/stats")
+    public ResponseEntity<TeamStatsDto> teamStats(@PathVariable String teamName) {
+        return ResponseEntity.of(teamStatsService.findByTeamName(teamName));
+    }
+}
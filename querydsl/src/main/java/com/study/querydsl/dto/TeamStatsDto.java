@@ -0,0 +1,29 @@
+package com.study.querydsl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 팀별 회원 통계
+ * 회원이 없는 팀은 memberCount가 0이고 나이 통계는 null이다.
+ */
+@Data
+@NoArgsConstructor
+public class TeamStatsDto {
+
+    private Long teamId;
+    private String teamName;
+    private Long memberCount;
+    private Double averageAge;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public TeamStatsDto(Long teamId, String teamName, Long memberCount, Double averageAge, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.averageAge = averageAge;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+}
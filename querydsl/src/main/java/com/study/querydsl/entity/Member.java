@@ -1,9 +1,11 @@
 package com.study.querydsl.entity;
 
+import com.study.querydsl.service.TeamStatsInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(TeamStatsInvalidationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -1,5 +1,6 @@
 package com.study.querydsl.entity;
 
+import com.study.querydsl.service.TeamStatsInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(TeamStatsInvalidationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,48 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.dto.TeamStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamStatsRepository {
+
+    private final JPAQueryFactory query;
+
+    /**
+     * select t.id, t.name, count(m.id), avg(m.age), min(m.age), max(m.age)
+     * from team t
+     * left join member m on (m.team_id = t.id)
+     * group by t.id, t.name
+     * order by t.name
+     */
+    public List<TeamStatsDto> findAll() {
+        return selectStats()
+                .orderBy(team.name.asc())
+                .fetch();
+    }
+
+    private JPAQuery<TeamStatsDto> selectStats() {
+        // 회원이 없는 팀도 0명으로 보여주기 위해 팀 기준 left join
+        return query
+                .select(Projections.constructor(TeamStatsDto.class,
+                        team.id,
+                        team.name,
+                        member.count(),
+                        member.age.avg(),
+                        member.age.min(),
+                        member.age.max()))
+                .from(team)
+                .leftJoin(team.members, member)
+                .groupBy(team.id, team.name);
+    }
+}
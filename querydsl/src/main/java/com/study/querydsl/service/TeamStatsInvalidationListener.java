@@ -0,0 +1,48 @@
+package com.study.querydsl.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Member, Team 엔티티 리스너
+ * 스프링 부트가 하이버네이트에 SpringBeanContainer를 등록해 두기 때문에 빈으로 생성되어 주입을 받을 수 있다.
+ * 리스너는 EntityManagerFactory를 만들면서 생성되므로, EntityManager를 쓰는 서비스는 ObjectProvider로 늦게 꺼낸다.
+ *
+ * flush 시점에 바로 버리면 커밋 전에 다른 요청이 옛 데이터로 다시 채울 수 있으므로 트랜잭션이 끝난 뒤에 버린다.
+ * 롤백이어도 같은 트랜잭션 안에서 커밋되지 않은 값으로 채워졌을 수 있어 같이 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamStatsInvalidationListener {
+
+    private final ObjectProvider<TeamStatsService> teamStatsService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            teamStatsService.getObject().invalidate();
+            return;
+        }
+        // 한 트랜잭션에서 여러 엔티티가 바뀌어도 한 번만 등록
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TeamStatsInvalidationListener.this);
+                teamStatsService.getObject().invalidate();
+            }
+        });
+    }
+}
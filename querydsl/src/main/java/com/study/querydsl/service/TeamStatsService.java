@@ -0,0 +1,57 @@
+package com.study.querydsl.service;
+
+import com.study.querydsl.dto.TeamStatsDto;
+import com.study.querydsl.repository.TeamStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 팀별 통계를 한 번 집계한 뒤 스냅샷으로 들고 있다가 회원/팀이 바뀌면 버린다.
+ * 대시보드 조회마다 member 테이블 전체를 group by 하지 않도록 하기 위함.
+ *
+ * 무효화는 {@link TeamStatsInvalidationListener}가 트랜잭션 종료 시점에 호출한다.
+ * 벌크 연산(update/delete 쿼리)은 엔티티 리스너를 거치지 않으므로 직접 {@link #invalidate()}를 불러야 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamStatsService {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    // 무효화될 때마다 올라가는 세대 번호, 집계 도중 무효화되면 그 결과는 다음 조회에서 버려진다.
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public List<TeamStatsDto> findAll() {
+        Snapshot current = snapshot.get();
+        long gen = generation.get();
+        if (current != null && current.generation() == gen) {
+            return current.stats();
+        }
+
+        List<TeamStatsDto> stats = List.copyOf(teamStatsRepository.findAll());
+        snapshot.set(new Snapshot(gen, stats));
+        return stats;
+    }
+
+    public Optional<TeamStatsDto> findByTeamName(String teamName) {
+        return findAll().stream()
+                .filter(s -> Objects.equals(teamName, s.getTeamName()))
+                .findFirst();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private record Snapshot(long generation, List<TeamStatsDto> stats) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.study.querydsl;
+
+import com.study.querydsl.dto.TeamStatsDto;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.repository.TeamStatsRepository;
+import com.study.querydsl.service.TeamStatsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class TeamStatsTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    @Autowired
+    TeamStatsService teamStatsService;
+
+    Team teamA;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 팀별_통계() {
+        List<TeamStatsDto> result = teamStatsRepository.findAll();
+
+        assertThat(result).extracting("teamName").containsExactly("teamA", "teamB", "teamC");
+
+        TeamStatsDto teamA = result.get(0);
+        assertThat(teamA.getMemberCount()).isEqualTo(2);
+        assertThat(teamA.getAverageAge()).isEqualTo(15);
+        assertThat(teamA.getMinAge()).isEqualTo(10);
+        assertThat(teamA.getMaxAge()).isEqualTo(20);
+
+        // 회원이 없는 팀도 0명으로 나와야 한다.
+        TeamStatsDto teamC = result.get(2);
+        assertThat(teamC.getMemberCount()).isEqualTo(0);
+        assertThat(teamC.getAverageAge()).isNull();
+    }
+
+    @Test
+    void 팀_이름으로_통계() {
+        em.persist(new Team(null)); // 이름 없는 팀이 있어도 NPE 없이 찾는다.
+        teamStatsService.invalidate();
+        TeamStatsDto teamB = teamStatsService.findByTeamName("teamB").orElseThrow();
+
+        assertThat(teamB.getMemberCount()).isEqualTo(2);
+        assertThat(teamB.getAverageAge()).isEqualTo(35);
+        assertThat(teamStatsService.findByTeamName("none")).isEmpty();
+    }
+
+    @Test
+    void 통계_캐시는_트랜잭션이_끝나면_무효화() {
+        teamStatsService.invalidate();
+        List<TeamStatsDto> first = teamStatsService.findAll();
+
+        // 같은 트랜잭션 안에서는 스냅샷을 그대로 돌려준다.
+        em.persist(new Member("member5", 50, em.find(Team.class, teamA.getId())));
+        em.flush();
+        assertThat(teamStatsService.findAll()).isSameAs(first);
+
+        // 트랜잭션이 끝나면(롤백이어도) 엔티티 리스너가 스냅샷을 버린다.
+        TestTransaction.end();
+        assertThat(teamStatsService.findAll()).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,61 @@
+package jpabook.jpashop.base.sql;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy가 감싼 JDBC Statement가 실행될 때마다 호출된다.
+ * 빈으로 등록하면 p6spy-spring-boot-starter가 리스너로 추가해준다.
+ */
+@Component
+public class SqlCountListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        SqlCountHolder.record(statementInformation.getSql(), timeElapsedNanos);
+    }
+
+    // 읽은 row 수
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        if (hasNext) {
+            SqlCountHolder.recordRows(1);
+        }
+    }
+
+    // 변경된 row 수 (super가 onAfterAnyExecute를 호출한다.)
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                     int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, rowCount, e);
+        SqlCountHolder.recordRows(Math.max(rowCount, 0));
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(StatementInformation statementInformation, long timeElapsedNanos,
+                                     String sql, int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, sql, rowCount, e);
+        SqlCountHolder.recordRows(Math.max(rowCount, 0));
+    }
+
+    // JDBC 배치는 한 번 실행으로 세고, row는 배치 안의 건수를 합친다. (드라이버가 건수를 모르면 음수)
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos,
+                                    int[] updateCounts, SQLException e) {
+        super.onAfterExecuteBatch(statementInformation, timeElapsedNanos, updateCounts, e);
+        if (updateCounts == null) {
+            return;
+        }
+        long rows = 0;
+        for (int updateCount : updateCounts) {
+            rows += Math.max(updateCount, 0);
+        }
+        SqlCountHolder.recordRows(rows);
+    }
+}
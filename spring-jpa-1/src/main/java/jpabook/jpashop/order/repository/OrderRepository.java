@@ -1,20 +1,32 @@
 package jpabook.jpashop.order.repository;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
 import jpabook.jpashop.order.entity.Order;
 import jpabook.jpashop.order.entity.OrderSearch;
-import lombok.RequiredArgsConstructor;
+import jpabook.jpashop.order.entity.OrderStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
-import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static jpabook.jpashop.member.entity.QMember.member;
+import static jpabook.jpashop.order.entity.QOrder.order;
 
 @Repository
-@RequiredArgsConstructor
 public class OrderRepository {
 
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
     private final EntityManager em;
+    private final JPAQueryFactory query;
+
+    public OrderRepository(EntityManager em) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+    }
 
     public void save(Order order) {
         em.persist(order);
@@ -24,39 +36,54 @@ public class OrderRepository {
         return em.find(Order.class, id);
     }
 
-    public List<Order> findAllByString(OrderSearch orderSearch) {
-        String jpql = "select o From Order o join o.member m";
-        boolean isFirstCondition = true;
-
-        //주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " o.status = :status";
-        }
-
-        //회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " m.name like :name";
-        }
-
-        TypedQuery<Order> query = em.createQuery(jpql, Order.class).setMaxResults(1000); //최대 1000건
-        if (orderSearch.getOrderStatus() != null) {
-            query = query.setParameter("status", orderSearch.getOrderStatus());
-        }
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query = query.setParameter("name", orderSearch.getMemberName());
-        }
-        return query.getResultList();
+    /**
+     * 검색 조건이 null 이면 where 절에서 빠지는 동적 쿼리
+     * 조건 조합(모양)이 같으면 항상 같은 JPQL이 만들어지기 때문에 하이버네이트 쿼리 플랜 캐시를 그대로 탄다.
+     * 페이징 없이 부르는 화면, API가 테이블 전체를 엔티티로 올리지 않도록 최신 주문 MAX_SEARCH_RESULTS 건까지만 읽는다.
+     * 전체가 필요하면 findAll(orderSearch, offset, limit) + count 또는 stream을 쓴다.
+     */
+    public List<Order> findAll(OrderSearch orderSearch) {
+        return findAll(orderSearch, 0, MAX_SEARCH_RESULTS);
+    }
+
+    public List<Order> findAll(OrderSearch orderSearch, long offset, long limit) {
+        return query
+                .select(order)
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .orderBy(order.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    public long count(OrderSearch orderSearch) {
+        Long count = query
+                .select(order.count())
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .fetchOne();
+
+        return count == null ? 0 : count;
+    }
+
+    // 결과를 List로 모으지 않고 커서로 한 건씩 읽는다. -> 호출하는 쪽에서 close 해야함
+    public Stream<Order> stream(OrderSearch orderSearch) {
+        return query
+                .select(order)
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .stream();
+    }
+
+    private BooleanExpression statusEq(OrderStatus statusCond) {
+        return statusCond != null ? order.status.eq(statusCond) : null;
+    }
+
+    private BooleanExpression nameLike(String nameCond) {
+        return StringUtils.hasText(nameCond) ? member.name.like(nameCond) : null;
     }
 }
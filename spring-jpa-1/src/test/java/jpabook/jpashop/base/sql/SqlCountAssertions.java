@@ -0,0 +1,34 @@
+package jpabook.jpashop.base.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트에서 실행된 SQL 수를 검증한다.
+ * SqlCountHolder.start() 이후 실행된 SQL만 센다.
+ */
+public abstract class SqlCountAssertions {
+
+    public static void assertSelectCount(int expected) {
+        assertThat(current().getSelect()).as("select count").isEqualTo(expected);
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertThat(current().getInsert()).as("insert count").isEqualTo(expected);
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertThat(current().getUpdate()).as("update count").isEqualTo(expected);
+    }
+
+    public static void assertNoNPlusOne() {
+        assertThat(current().getMaxRepeatedSelect())
+                .as("repeated select : %s", current().getMostRepeatedSelect())
+                .isLessThanOrEqualTo(1);
+    }
+
+    private static SqlCount current() {
+        SqlCount sqlCount = SqlCountHolder.get();
+        assertThat(sqlCount).as("SqlCountHolder.start()를 먼저 호출해야 한다.").isNotNull();
+        return sqlCount;
+    }
+}
@@ -1,6 +1,8 @@
 package jpabook.jpashop.member.repository;
 
+import jpabook.jpashop.base.sql.SqlCountHolder;
 import jpabook.jpashop.member.entity.Member;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertSelectCount;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -22,6 +25,11 @@ class MemberRepositoryTest {
     @PersistenceContext
     EntityManager em;
 
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
     @Test
     @Rollback(false)
     void testMember() throws Exception {
@@ -52,7 +60,9 @@ class MemberRepositoryTest {
 
         memberRepository.save(member);
 
+        SqlCountHolder.start();
         Long count = memberRepository.count(member.getName());
         assertThat(count).isEqualTo(1);
+        assertSelectCount(1); // 중복 검사는 count 쿼리 한 번
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.delivery.entity.Delivery;
+import jpabook.jpashop.delivery.entity.DeliveryStatus;
+import jpabook.jpashop.item.base.Book;
+import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.orderitem.entity.OrderItem;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * H2 메모리 DB로 띄우고, 회원/상품/주문 데이터를 원하는 만큼 넣는다.
+ * 설정은 커맨드라인 인자로 넘겨서 application.yml, 로컬 profile 설정보다 우선하게 한다.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private static final String[] DEFAULT_ARGS = {
+            "--spring.profiles.active=jmh",
+            "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.properties.hibernate.generate_statistics=true",
+            "--decorator.datasource.p6spy.enable-logging=false",
+            "--logging.level.root=warn",
+            "--logging.level.org.hibernate.SQL=off",
+            "--logging.level.jpabook.jpashop=warn"
+    };
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Statistics statistics;
+    private final EntityManagerFactory emf;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.emf = context.getBean(EntityManagerFactory.class);
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public static BenchmarkContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    /**
+     * 톰캣까지 띄운다. (포트는 랜덤, getLocalPort()로 확인)
+     * HTTP 요청으로 필터, 스레드 모델까지 포함해서 측정할 때 사용한다.
+     */
+    public static BenchmarkContext startWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(extraArgs));
+        args.add("--server.port=0");
+        return start(WebApplicationType.SERVLET, args.toArray(new String[0]));
+    }
+
+    private static BenchmarkContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(DEFAULT_ARGS));
+        args.addAll(Arrays.asList(extraArgs));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(new String[0]));
+
+        return new BenchmarkContext(context);
+    }
+
+    public int getLocalPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 요청 한 번 동안 영속성 컨텍스트가 열려 있는 OSIV 환경을 흉내낸다.
+     * (컨트롤러를 직접 호출하면 지연 로딩할 영속성 컨텍스트가 없기 때문)
+     */
+    public <T> T inReadOnlyTransaction(Supplier<T> action) {
+        return readOnlyTransactionTemplate.execute(status -> action.get());
+    }
+
+    /**
+     * 트랜잭션 없이 영속성 컨텍스트만 열어둔다. (OpenEntityManagerInViewInterceptor와 같은 방식)
+     * 컨트롤러에서 트랜잭션 밖으로 조회하는 실제 OSIV 요청과 같다.
+     */
+    public <T> T inOpenEntityManager(Supplier<T> action) {
+        EntityManager em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+        try {
+            return action.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+            EntityManagerFactoryUtils.closeEntityManager(em);
+        }
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    // 지금까지 실행된 SQL 수 (hibernate.generate_statistics)
+    public long statementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * 주문마다 주문상품 itemsPerOrder 개, 회원과 상품은 돌아가면서 사용한다.
+     */
+    public void seed(int memberCount, int itemCount, int orderCount, int itemsPerOrder) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = context.getBean(EntityManager.class);
+
+            List<Member> members = new ArrayList<>(memberCount);
+            for (int i = 0; i < memberCount; i++) {
+                Member member = new Member("member" + i, new Address("서울", "street" + i, "zipcode" + i));
+                em.persist(member);
+                members.add(member);
+            }
+
+            List<Book> books = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Book book = Book.create("BOOK" + i, 10000 + i, Integer.MAX_VALUE);
+                em.persist(book);
+                books.add(book);
+            }
+
+            for (int i = 0; i < orderCount; i++) {
+                Member member = members.get(i % memberCount);
+
+                Delivery delivery = new Delivery();
+                delivery.setAddressAndStatus(member.getAddress(), DeliveryStatus.READY);
+
+                OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+                for (int j = 0; j < itemsPerOrder; j++) {
+                    Book book = books.get((i + j) % itemCount);
+                    orderItems[j] = OrderItem.createOrderItem(book, book.getPrice(), 1);
+                }
+
+                em.persist(Order.createOrder(member, delivery, orderItems));
+
+                if (i % 100 == 0) {
+                    em.flush();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
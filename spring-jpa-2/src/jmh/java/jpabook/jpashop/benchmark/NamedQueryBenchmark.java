@@ -0,0 +1,69 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.order.repository.OrderSimpleQueryDto;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPQL 문자열로 쿼리를 만드는 경우와 @NamedQuery로 만드는 경우의 호출 비용 비교
+ * - create : 쿼리 객체 생성까지만 (플랜 캐시 조회, DTO 생성자 확인 비용)
+ * - execute : 실행까지 포함 (주문 orderCount 건)
+ *
+ * ./gradlew jmh -Pjmh.includes=NamedQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NamedQueryBenchmark {
+
+    private static final String JPQL = "select new jpabook.jpashop.order.repository.OrderSimpleQueryDto" +
+            "(o.id, m.name, o.orderDate, o.status, d.address) " +
+            "from Order o " +
+            "join o.member m " +
+            "join o.delivery d";
+
+    @Param({"10"})
+    public int orderCount;
+
+    private BenchmarkContext context;
+    private EntityManager em;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(10, 10, orderCount, 1);
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Object createQuery() {
+        return em.createQuery(JPQL, OrderSimpleQueryDto.class);
+    }
+
+    @Benchmark
+    public Object createNamedQuery() {
+        return em.createNamedQuery("Order.findOrderSimpleQueryDtos", OrderSimpleQueryDto.class);
+    }
+
+    @Benchmark
+    public Object executeQuery() {
+        return em.createQuery(JPQL, OrderSimpleQueryDto.class).getResultList();
+    }
+
+    @Benchmark
+    public Object executeNamedQuery() {
+        return em.createNamedQuery("Order.findOrderSimpleQueryDtos", OrderSimpleQueryDto.class).getResultList();
+    }
+}
@@ -0,0 +1,125 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.api.OrderApiController;
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 주문 조회 API 버전별 성능 비교 (컨트롤러 메서드 직접 호출, JSON 직렬화 제외)
+ * - 지연 시간 : avgt
+ * - 할당률 : -prof gc (gc.alloc.rate.norm = op 당 할당 바이트)
+ * - SQL 수 : 벤치마크 종료 시 op 당 실행된 SQL 수를 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderApiBenchmark {
+
+    @Param({"100"})
+    public int orderCount;
+
+    @Param({"10"})
+    public int memberCount;
+
+    @Param({"20"})
+    public int itemCount;
+
+    @Param({"2"})
+    public int itemsPerOrder;
+
+    private BenchmarkContext context;
+    private OrderApiController orderApi;
+    private OrderSimpleApiController orderSimpleApi;
+
+    private final Map<String, long[]> sqlCounts = new HashMap<>(); // [op 수, SQL 수]
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(memberCount, itemCount, orderCount, itemsPerOrder);
+
+        orderApi = context.getBean(OrderApiController.class);
+        orderSimpleApi = context.getBean(OrderSimpleApiController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sqlCounts.forEach((name, counts) ->
+                System.out.printf("%n[%s] sql statements / op = %.1f%n", name, (double) counts[1] / counts[0]));
+        context.close();
+    }
+
+    @Benchmark
+    public Object ordersV1() {
+        return call("ordersV1", () -> orderApi.ordersV1());
+    }
+
+    @Benchmark
+    public Object ordersV2() {
+        return call("ordersV2", () -> orderApi.ordersV2());
+    }
+
+    @Benchmark
+    public Object ordersV3() {
+        return call("ordersV3", () -> orderApi.ordersV3(0, orderCount));
+    }
+
+    @Benchmark
+    public Object ordersV3_page() {
+        return call("ordersV3_page", () -> orderApi.ordersV3_page(0, orderCount));
+    }
+
+    @Benchmark
+    public Object ordersV4() {
+        return call("ordersV4", () -> orderApi.ordersV4());
+    }
+
+    @Benchmark
+    public Object ordersV5() {
+        return call("ordersV5", () -> orderApi.ordersV5());
+    }
+
+    @Benchmark
+    public Object ordersV6() {
+        return call("ordersV6", () -> orderApi.ordersV6(0L, orderCount));
+    }
+
+    @Benchmark
+    public Object simpleOrdersV1() {
+        return call("simpleOrdersV1", () -> orderSimpleApi.ordersV1());
+    }
+
+    @Benchmark
+    public Object simpleOrdersV2() {
+        return call("simpleOrdersV2", () -> orderSimpleApi.ordersV2());
+    }
+
+    @Benchmark
+    public Object simpleOrdersV3() {
+        return call("simpleOrdersV3", () -> orderSimpleApi.ordersV3());
+    }
+
+    @Benchmark
+    public Object simpleOrdersV4() {
+        return call("simpleOrdersV4", () -> orderSimpleApi.ordersV4());
+    }
+
+    private Object call(String name, Supplier<Object> api) {
+        long before = context.statementCount();
+        Object result = context.inReadOnlyTransaction(api);
+
+        long[] counts = sqlCounts.computeIfAbsent(name, key -> new long[2]);
+        counts[0]++;
+        counts[1] += context.statementCount() - before;
+
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.api.MemberApiController;
+import jpabook.jpashop.item.entity.Item;
+import jpabook.jpashop.item.repository.ItemDataRepository;
+import jpabook.jpashop.item.repository.ItemRepository;
+import jpabook.jpashop.item.repository.ItemView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 조회(EntityManager 레포지토리) vs 프로젝션 조회(Spring Data 레포지토리)
+ * - row 폭 : 회원 엔티티는 id, 생성/수정일, name, address(3) 7개 컬럼, MemberSummary는 name, address 4개 컬럼
+ * - 힙 사용 : -prof gc 의 gc.alloc.rate.norm (엔티티, 더티 체킹 스냅샷, 영속성 컨텍스트 엔트리가 빠진 만큼 줄어든다.)
+ * 요청 한 번처럼 영속성 컨텍스트를 열고(OSIV) 조회한 뒤 닫는다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rowCount;
+
+    private BenchmarkContext context;
+    private MemberApiController memberApi;
+    private ItemRepository itemRepository;
+    private ItemDataRepository itemDataRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 엔티티 쪽이 쿼리 캐시 덕을 보지 않도록 끄고 비교한다.
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        context.seed(rowCount, rowCount, 0, 1);
+
+        memberApi = context.getBean(MemberApiController.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        itemDataRepository = context.getBean(ItemDataRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object membersV2Entity() {
+        return context.inOpenEntityManager(() -> memberApi.membersV2());
+    }
+
+    @Benchmark
+    public Object membersV3Projection() {
+        return context.inOpenEntityManager(() -> memberApi.membersV3());
+    }
+
+    @Benchmark
+    public List<Item> itemsEntity() {
+        return context.inReadOnlyTransaction(() -> itemRepository.findAll());
+    }
+
+    @Benchmark
+    public List<ItemView> itemsProjection() {
+        return context.inReadOnlyTransaction(() -> itemDataRepository.findAllBy(ItemView.class));
+    }
+}
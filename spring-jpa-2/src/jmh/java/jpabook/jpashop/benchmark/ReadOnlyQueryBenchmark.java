@@ -0,0 +1,63 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.api.MemberApiController;
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ReadOnlyQuery 적용 전후 비교 (readOnly = false 이면 ReadOnlyQueryAspect를 끄고 띄운다.)
+ * - op 당 할당 바이트 : -prof gc (gc.alloc.rate.norm), 더티 체킹 스냅샷이 빠진 만큼 줄어든다.
+ * - 지연 시간 : avgt
+ * 요청 한 번처럼 영속성 컨텍스트를 열고(OSIV) 컨트롤러를 호출한 뒤 닫는다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ReadOnlyQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyQueryBenchmark {
+
+    @Param({"true", "false"})
+    public boolean readOnly;
+
+    @Param({"1000", "10000"})
+    public int orderCount;
+
+    @Param({"1000"})
+    public int memberCount;
+
+    private BenchmarkContext context;
+    private OrderSimpleApiController orderSimpleApi;
+    private MemberApiController memberApi;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.read-only-query.enabled=" + readOnly);
+        context.seed(memberCount, 20, orderCount, 1);
+
+        orderSimpleApi = context.getBean(OrderSimpleApiController.class);
+        memberApi = context.getBean(MemberApiController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 트랜잭션 밖에서 OSIV 영속성 컨텍스트로 조회 -> 적용 효과가 있다.
+    @Benchmark
+    public Object simpleOrdersV3() {
+        return context.inOpenEntityManager(() -> orderSimpleApi.ordersV3());
+    }
+
+    // readOnly 트랜잭션(MemberService) 안에서 조회 -> 이미 읽기 전용이라 차이가 거의 없어야 한다.
+    @Benchmark
+    public Object membersV2() {
+        return context.inOpenEntityManager(() -> memberApi.membersV2());
+    }
+}
@@ -0,0 +1,83 @@
+package jpabook.jpashop.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드(톰캣 기본 풀) vs 가상 스레드 요청 처리 부하 테스트
+ * 톰캣을 띄우고 JMH 스레드 수만큼 동시에 HTTP 요청을 보낸다.
+ * - 처리량 : thrpt
+ * - 지연 시간 분포 : sample (p0.99 확인)
+ * 가상 스레드는 Java 21 이상에서만 뜨므로 JDK 21로 실행한다. (Java 17이면 virtualThreads=true 조합은 시작 시점에 실패한다.)
+ * H2 메모리 DB는 JDBC 대기가 거의 없어서 차이가 작게 나온다. 실제 DB 대상으로 비교하려면 BenchmarkContext의 datasource 인자를 바꿔서 실행한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=VirtualThreadBenchmark -Pjmh.params='virtualThreads=false,true'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400) // 톰캣 기본 최대 스레드(200)보다 많이 보내야 플랫폼 스레드 쪽 대기열이 드러난다.
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"10"})
+    public int poolSize;
+
+    @Param({"1000"})
+    public int orderCount;
+
+    private BenchmarkContext context;
+    private HttpClient client;
+    private URI members;
+    private URI simpleOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--app.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        context.seed(100, 20, orderCount, 2);
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        String baseUrl = "http://localhost:" + context.getLocalPort();
+        members = URI.create(baseUrl + "/api/v2/members");
+        simpleOrders = URI.create(baseUrl + "/api/v4/simple-orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int membersV2() throws IOException, InterruptedException {
+        return send(members);
+    }
+
+    @Benchmark
+    public int simpleOrdersV4() throws IOException, InterruptedException {
+        return send(simpleOrders);
+    }
+
+    private int send(URI uri) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status = " + response.statusCode() + ", uri = " + uri);
+        }
+        return response.statusCode();
+    }
+}
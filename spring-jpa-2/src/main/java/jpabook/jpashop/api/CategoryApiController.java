@@ -0,0 +1,123 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.category.service.CategoryNode;
+import jpabook.jpashop.category.service.CategoryService;
+import jpabook.jpashop.category.service.CategoryTree;
+import jpabook.jpashop.category.service.CategoryTreeCache;
+import jpabook.jpashop.item.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+    private final CategoryTreeCache categoryTreeCache;
+
+    /**
+     * 카테고리 트리, 메모리 스냅샷에서 바로 응답한다. (DB 조회 X)
+     */
+    @GetMapping("/categories")
+    public Result<List<CategoryNode>> categories() {
+        List<CategoryNode> roots = categoryTreeCache.get().getRoots();
+        return new Result<>(roots.size(), roots);
+    }
+
+    // 하위 트리 + 루트부터의 경로(breadcrumb)
+    @GetMapping("/categories/{id}")
+    public ResponseEntity<CategoryDetailDto> category(@PathVariable("id") Long id) {
+        CategoryTree tree = categoryTreeCache.get();
+        return ResponseEntity.of(tree.find(id)
+                .map(node -> new CategoryDetailDto(node, tree.findPath(id).stream()
+                        .map(CategoryPathDto::new)
+                        .collect(Collectors.toList()))));
+    }
+
+    // 하위 카테고리까지 포함한 상품, 쿼리 캐시
+    @GetMapping("/categories/{id}/items")
+    public Result<List<CategoryItemDto>> categoryItems(@PathVariable("id") Long id) {
+        List<CategoryItemDto> items = categoryService.findItems(id).stream()
+                .map(CategoryItemDto::new)
+                .collect(Collectors.toList());
+
+        return new Result<>(items.size(), items);
+    }
+
+    @PostMapping("/categories")
+    public CreateCategoryResponse saveCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        Long id = categoryService.create(request.getName(), request.getParentId());
+        return new CreateCategoryResponse(id);
+    }
+
+    @PutMapping("/categories/{id}/parent")
+    public void moveCategory(@PathVariable("id") Long id, @RequestBody MoveCategoryRequest request) {
+        categoryService.move(id, request.getParentId());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private int count;
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CategoryDetailDto {
+        private CategoryNode category;
+        private List<CategoryPathDto> path;
+    }
+
+    // 경로에는 하위 트리 없이 이름만 내려준다.
+    @Data
+    static class CategoryPathDto {
+        private Long id;
+        private String name;
+
+        public CategoryPathDto(CategoryNode node) {
+            this.id = node.getId();
+            this.name = node.getName();
+        }
+    }
+
+    @Data
+    static class CategoryItemDto {
+        private Long itemId;
+        private String name;
+        private int price;
+
+        public CategoryItemDto(Item item) {
+            this.itemId = item.getId();
+            this.name = item.getName();
+            this.price = item.getPrice();
+        }
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId;
+    }
+
+    @Data
+    static class MoveCategoryRequest {
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+}
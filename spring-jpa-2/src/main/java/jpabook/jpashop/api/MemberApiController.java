@@ -1,7 +1,9 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.readonly.ReadOnlyQuery;
 import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.member.repository.MemberSummary;
 import jpabook.jpashop.member.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,6 +28,7 @@ public class MemberApiController {
         return memberService.findMembers();
     }
 
+    @ReadOnlyQuery
     @GetMapping("/v2/members")
     public Result<List<MemberDto>> membersV2() {
         List<Member> findMembers = memberService.findMembers();
@@ -43,6 +46,15 @@ public class MemberApiController {
         return new Result<>(members.size(), members);
     }
 
+    /**
+     * v2와 응답은 같지만 엔티티 대신 프로젝션으로 name, address 컬럼만 조회한다.
+     */
+    @GetMapping("/v3/members")
+    public Result<List<MemberSummary>> membersV3() {
+        List<MemberSummary> members = memberService.findMemberSummaries();
+        return new Result<>(members.size(), members);
+    }
+
     @Data
     @AllArgsConstructor
     static class Result<T> {
@@ -1,22 +1,34 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.paging.Cursor;
+import jpabook.jpashop.base.paging.CursorPage;
 import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.order.entity.OrderRequest;
 import jpabook.jpashop.order.entity.OrderSearch;
 import jpabook.jpashop.order.entity.OrderStatus;
 import jpabook.jpashop.order.repository.OrderQueryDto;
 import jpabook.jpashop.order.repository.OrderQueryRepository;
 import jpabook.jpashop.order.repository.OrderRepository;
+import jpabook.jpashop.order.service.ExportFormat;
+import jpabook.jpashop.order.service.OrderExportService;
+import jpabook.jpashop.order.service.OrderService;
 import jpabook.jpashop.orderitem.entity.OrderItem;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +41,8 @@ public class OrderApiController {
 
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @GetMapping("/v1/orders")
     public List<Order> ordersV1() {
@@ -44,7 +58,7 @@ public class OrderApiController {
 
     @GetMapping("/v2/orders")
     public List<OrderDto> ordersV2() {
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
+        List<Order> orders = orderRepository.findAll(new OrderSearch());
         return orders.stream()
                 .map(OrderDto::new)
                 .collect(Collectors.toList());
@@ -53,10 +67,13 @@ public class OrderApiController {
     /**
      * Fetch Join으로 필요한 엔티티 한 번에 가져오는 방식
      * Fetch Join : 프록시 객체가 아닌 진짜 엔티티에 값을 담아서 가져오는 방식
+     * 컬렉션 페치 조인은 페이징이 안되기 때문에 주문 페이징 -> 주문상품 조회 두 단계로 나눈다.
      */
     @GetMapping("/v3/orders")
-    public List<OrderDto> ordersV3() {
-        List<Order> orders = orderRepository.findAllWithItem();
+    public List<OrderDto> ordersV3(
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        List<Order> orders = orderRepository.findAllWithItem(offset, limit);
 
         List<OrderDto> result = new ArrayList<>();
         for (Order order : orders) {
@@ -83,11 +100,77 @@ public class OrderApiController {
         return result;
     }
 
+    /**
+     * V3.1의 offset 대신 cursor로 다음 페이지를 요청한다. (첫 페이지는 cursor= 빈 값)
+     * limit은 최대 CursorPage.MAX_LIMIT 까지
+     */
+    @GetMapping(value = "/v3.1/orders", params = "cursor")
+    public CursorPage<OrderDto> ordersV3_cursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        int pageLimit = CursorPage.limitOf(limit);
+        List<Order> orders = orderRepository.findAllWithMemberDelivery(Cursor.decode(cursor), pageLimit);
+
+        return CursorPage.of(orders, pageLimit, o -> Cursor.of(o.getId()))
+                .map(OrderDto::new);
+    }
+
     @GetMapping("/v4/orders")
     public List<OrderQueryDto> ordersV4() {
         return orderQueryRepository.findOrderQueryDtos();
     }
 
+    /**
+     * V4의 1 + N 문제를 in 절로 해결 -> 주문 1번, 주문상품 1번 총 2번의 쿼리
+     */
+    @GetMapping("/v5/orders")
+    public List<OrderQueryDto> ordersV5() {
+        return orderQueryRepository.findAllByDto_optimization();
+    }
+
+    /**
+     * 조인 한 번으로 펼친 row를 가져와서 메모리에서 주문 단위로 다시 묶는다.
+     * 주문 id 기준 keyset 페이징 -> 다음 페이지는 마지막 orderId를 lastOrderId로 넘긴다.
+     * limit은 최대 CursorPage.MAX_LIMIT 까지 (주문 id가 그대로 in 절에 들어간다.)
+     */
+    @GetMapping("/v6/orders")
+    public List<OrderQueryDto> ordersV6(
+            @RequestParam(value = "lastOrderId", defaultValue = "0") Long lastOrderId,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        return orderQueryRepository.findAllByDto_flat(lastOrderId, CursorPage.limitOf(limit));
+    }
+
+    @PostMapping("/v2/orders/bulk")
+    public BulkOrderResponse placeOrdersV2(@RequestBody List<OrderRequest> requests) {
+        List<Long> orderIds = orderService.placeOrders(requests);
+        return new BulkOrderResponse(orderIds.size(), orderIds);
+    }
+
+    /**
+     * 전체 주문 내보내기 (format = csv, ndjson)
+     * 응답을 모아서 반환하지 않고 서블릿 출력 스트림에 바로 쓴다.
+     */
+    @GetMapping("/orders/export")
+    public void exportOrders(@RequestParam(defaultValue = "csv") String format,
+                             HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+
+        orderExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BulkOrderResponse {
+        private int count;
+        private List<Long> orderIds;
+    }
+
     @Data
     static class OrderDto {
         private Long orderId;
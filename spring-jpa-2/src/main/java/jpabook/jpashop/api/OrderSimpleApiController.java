@@ -1,6 +1,7 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.readonly.ReadOnlyQuery;
 import jpabook.jpashop.order.entity.Order;
 import jpabook.jpashop.order.entity.OrderSearch;
 import jpabook.jpashop.order.repository.OrderSimpleQueryDto;
@@ -28,7 +29,7 @@ public class OrderSimpleApiController {
 
     @GetMapping("/v1/simple-orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        List<Order> all = orderRepository.findAll(new OrderSearch());
         return all;
     }
 
@@ -41,7 +42,7 @@ public class OrderSimpleApiController {
      */
     @GetMapping("/v2/simple-orders")
     public Result<List<SimpleOrderDto>> ordersV2() {
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
+        List<Order> orders = orderRepository.findAll(new OrderSearch());
         List<SimpleOrderDto> simpleOrders = orders.stream()
                 .map(SimpleOrderDto::new) // Method Reference (람다 생략)
                 .collect(Collectors.toList());
@@ -53,7 +54,9 @@ public class OrderSimpleApiController {
      * 재사용 가능 -> 엔티티를 가져온다.
      * 원하는 dto를 만들어서 값 세팅이 가능하다.
      * V3, V4의 성능은 별 차이 없다. (V4가 아주 살짝 좋음)
+     * 트랜잭션 밖에서 조회하므로 @ReadOnlyQuery로 스냅샷 없이 읽는다.
      * */
+    @ReadOnlyQuery
     @GetMapping("/v3/simple-orders")
     public Result<List<SimpleOrderDto>> ordersV3() {
         List<Order> orders = orderRepository.findAllWithMemberDelivery();
@@ -0,0 +1,162 @@
+package jpabook.jpashop.base.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.base.sql.SqlCount;
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * 서로 관계없는 조회 여러 개를 동시에 실행하고 결과를 모은다.
+ * 조회마다 별도 스레드, 별도 읽기 전용 트랜잭션(커넥션)에서 실행하기 때문에 응답 시간이 쿼리 시간의 합이 아니라 가장 느린 쿼리에 가까워진다.
+ *
+ * - 결과 엔티티는 각 트랜잭션이 끝나면 준영속 상태다. 지연 로딩이 필요 없는 화면용 조회에만 쓴다.
+ * - 하나라도 실패하거나 timeout 안에 끝나지 않으면 나머지를 취소하고 예외를 던진다.
+ * - 동시에 커넥션을 여러 개 쓰므로 pool-size는 커넥션 풀보다 작게 잡는다. 작업이 밀리면 호출한 스레드에서 직접 실행한다.
+ * - shop.fan-out : 전체 시간, shop.fan-out.branch : 조회별 시간 (둘을 비교하면 병렬 실행으로 줄어든 시간이 보인다.)
+ */
+@Slf4j
+@Component
+public class FanOutLoader {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    public FanOutLoader(PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.fan-out.pool-size:4}") int poolSize,
+                        @Value("${app.fan-out.timeout:3s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutNanos = timeout.toNanos();
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, timeout.toSeconds())); // 쿼리 타임아웃으로도 걸린다.
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fan-out-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <A, B, R> R load(String operation, Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combiner) {
+        List<Object> results = loadAll(operation, List.of(first, second));
+
+        @SuppressWarnings("unchecked") A a = (A) results.get(0);
+        @SuppressWarnings("unchecked") B b = (B) results.get(1);
+        return combiner.apply(a, b);
+    }
+
+    private List<Object> loadAll(String operation, List<Supplier<?>> branches) {
+        Thread caller = Thread.currentThread();
+        SqlCount callerSqlCount = SqlCountHolder.get();
+
+        List<Future<BranchResult>> futures = new ArrayList<>(branches.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            for (int i = 0; i < branches.size(); i++) {
+                String branch = String.valueOf(i);
+                Supplier<?> supplier = branches.get(i);
+                futures.add(executor.submit(() -> runBranch(operation, branch, supplier, caller, callerSqlCount != null)));
+            }
+
+            List<Object> results = new ArrayList<>(branches.size());
+            long deadline = System.nanoTime() + timeoutNanos;
+            for (Future<BranchResult> future : futures) {
+                BranchResult result = future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (callerSqlCount != null && result.sqlCount != null) {
+                    callerSqlCount.add(result.sqlCount);
+                }
+                results.add(result.value);
+            }
+            return results;
+        } catch (TimeoutException e) {
+            outcome = "TIMEOUT";
+            throw new QueryTimeoutException("동시 조회가 제한 시간 안에 끝나지 않았습니다. operation = " + operation, e);
+        } catch (ExecutionException e) {
+            outcome = "ERROR";
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            outcome = "ERROR";
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("동시 조회 대기 중 인터럽트. operation = " + operation, e);
+        } finally {
+            futures.forEach(future -> future.cancel(true)); // 끝난 작업은 영향 없고, 남은 작업만 중단된다.
+            sample.stop(Timer.builder("shop.fan-out")
+                    .tags("operation", operation, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private BranchResult runBranch(String operation, String branch, Supplier<?> supplier,
+                                   Thread caller, boolean countSql) {
+        // 작업이 밀려서 호출한 스레드에서 직접 실행되는 경우는 호출한 쪽 집계에 그대로 잡힌다.
+        boolean separateThread = Thread.currentThread() != caller;
+        SqlCount sqlCount = countSql && separateThread ? SqlCountHolder.start() : null;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return new BranchResult(readOnlyTransaction.execute(status -> supplier.get()), sqlCount);
+        } finally {
+            sample.stop(Timer.builder("shop.fan-out.branch")
+                    .tags("operation", operation, "branch", branch)
+                    .register(meterRegistry));
+            if (sqlCount != null) {
+                SqlCountHolder.clear();
+            }
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class BranchResult {
+        private final Object value;
+        private final SqlCount sqlCount;
+
+        private BranchResult(Object value, SqlCount sqlCount) {
+            this.value = value;
+            this.sqlCount = sqlCount;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package jpabook.jpashop.base.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * primary / replica 커넥션 풀을 따로 만들고, 트랜잭션의 readOnly 여부로 라우팅한다.
+ * app.datasource.routing.enabled=true 일 때만 등록되고, 꺼져 있으면 기존처럼 spring.datasource 하나를 쓴다.
+ *
+ * 풀 설정은 HikariCP 프로퍼티를 그대로 바인딩한다.
+ * app.datasource.primary.jdbc-url, username, password, maximum-pool-size ...
+ * app.datasource.replica.jdbc-url, username, password, maximum-pool-size ...
+ * 두 풀 모두 빈이라서 actuator가 hikaricp.connections.* 메트릭을 pool 태그(primary, replica)로 남긴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource replicationRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                   @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceType.PRIMARY, primary,
+                DataSourceType.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        return routingDataSource;
+    }
+
+    /**
+     * 스프링은 기본으로 Hibernate 세션이 처음 잡은 커넥션을 세션이 닫힐 때까지 들고 있게 한다. (DELAYED_ACQUISITION_AND_HOLD)
+     * OSIV(spring.jpa.open-in-view)에서는 세션이 요청 동안 열려 있어서, 요청의 첫 트랜잭션이 고른 풀을 뒤 트랜잭션도 그대로 쓴다.
+     * (읽기 전용 조회 뒤의 쓰기가 replica로 가고, 쓰기 뒤의 조회는 primary에 남는다.)
+     * prepareConnection을 끄면 트랜잭션이 끝날 때마다 커넥션을 반납해서(DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION)
+     * 트랜잭션마다 다시 라우팅된다. 대신 트랜잭션별 격리 수준 지정, 커넥션 readOnly 설정은 하지 않는다. (replica 풀은 풀 단위로 readOnly)
+     */
+    @Bean
+    public static BeanPostProcessor releaseConnectionAfterTransaction() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HibernateJpaVendorAdapter) {
+                    ((HibernateJpaVendorAdapter) bean).setPrepareConnection(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // JPA, 트랜잭션 매니저가 사용하는 데이터소스
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("replicationRoutingDataSource") DataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+}
@@ -0,0 +1,5 @@
+package jpabook.jpashop.base.datasource;
+
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.base.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * readOnly 트랜잭션이면 replica, 그 외(쓰기 트랜잭션, 트랜잭션 밖)는 primary 커넥션을 준다.
+ * 트랜잭션 시작 시점에는 아직 readOnly 여부가 동기화되지 않았기 때문에
+ * LazyConnectionDataSourceProxy로 감싸서 첫 쿼리 시점에 커넥션을 고르게 해야 한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceType.REPLICA
+                : DataSourceType.PRIMARY;
+    }
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.base.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 서비스 메서드의 실행 시간, 실행한 SQL 수, 읽고 쓴 row 수를 메트릭으로 남긴다. (ServiceMetricAspect)
+ * value는 operation 태그 값 (ex. order.place)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ServiceMetric {
+
+    String value();
+}
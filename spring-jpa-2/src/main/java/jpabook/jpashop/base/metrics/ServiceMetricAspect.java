@@ -0,0 +1,75 @@
+package jpabook.jpashop.base.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.base.sql.SqlCount;
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * @ServiceMetric 메서드마다 남기는 메트릭
+ * - shop.service : 실행 시간 (operation, outcome, exception 태그, 퍼센타일 히스토그램)
+ * - shop.service.sql.statements : 실행한 SQL 수
+ * - shop.service.sql.rows : 읽고 쓴 row 수
+ *
+ * 트랜잭션 커밋 시점의 flush(insert, update)까지 포함하도록 트랜잭션 AOP보다 바깥에서 실행한다.
+ * SQL 수, row 수는 태그로 붙이면 값마다 시계열이 생기기 때문에 같은 태그의 분포 메트릭으로 남긴다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(serviceMetric)")
+    public Object measure(ProceedingJoinPoint joinPoint, ServiceMetric serviceMetric) throws Throwable {
+        // HTTP 요청이면 SqlCountFilter가 시작한 집계를 이어서 쓰고, 아니면 메서드 동안만 집계한다.
+        SqlCount sqlCount = SqlCountHolder.get();
+        boolean started = sqlCount == null;
+        if (started) {
+            sqlCount = SqlCountHolder.start();
+        }
+        int statementsBefore = sqlCount.getTotal();
+        long rowsBefore = sqlCount.getRows();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            Tags tags = Tags.of(
+                    "operation", serviceMetric.value(),
+                    "outcome", failure == null ? "SUCCESS" : "ERROR",
+                    "exception", failure == null ? "none" : failure.getClass().getSimpleName());
+
+            sample.stop(Timer.builder("shop.service")
+                    .tags(tags)
+                    .register(meterRegistry));
+            DistributionSummary.builder("shop.service.sql.statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(sqlCount.getTotal() - statementsBefore);
+            DistributionSummary.builder("shop.service.sql.rows")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(sqlCount.getRows() - rowsBefore);
+
+            if (started) {
+                SqlCountHolder.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package jpabook.jpashop.base.paging;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset(seek) 페이징 위치
+ * 마지막으로 내려준 row의 (id, 정렬 키)를 기억해서 다음 페이지는 그 이후부터 조회한다.
+ * offset 방식처럼 앞의 row를 읽고 버리지 않기 때문에 뒤쪽 페이지도 속도가 일정하다.
+ * 클라이언트에게는 내부 값을 감춘 토큰(Base64)으로만 주고받는다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursor {
+
+    private static final String DELIMITER = ":";
+
+    private final Long lastId;
+    private final String lastSortKey;
+
+    public static Cursor first() {
+        return new Cursor(null, null);
+    }
+
+    public static Cursor of(Long lastId) {
+        return new Cursor(lastId, null);
+    }
+
+    public static Cursor of(Long lastId, String lastSortKey) {
+        return new Cursor(lastId, lastSortKey);
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        String raw = lastId + DELIMITER + (lastSortKey == null ? "" : lastSortKey);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 빈 토큰은 첫 페이지
+    public static Cursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return first();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.indexOf(DELIMITER);
+            Long lastId = Long.valueOf(raw.substring(0, index));
+            String lastSortKey = raw.substring(index + 1);
+
+            return new Cursor(lastId, lastSortKey.isEmpty() ? null : lastSortKey);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("잘못된 cursor 입니다. cursor = " + token, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.base.readonly;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔티티를 조회해서 DTO로 바꾸기만 하는 메서드에 붙인다.
+ * 메서드가 실행되는 동안 현재 영속성 컨텍스트(OSIV)에서 읽은 엔티티는 읽기 전용이 되어
+ * 더티 체킹용 스냅샷을 만들지 않고, 플러시도 하지 않는다. (FlushMode.MANUAL)
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyQuery {
+}
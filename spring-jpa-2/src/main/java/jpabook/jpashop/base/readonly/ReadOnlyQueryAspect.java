@@ -0,0 +1,51 @@
+package jpabook.jpashop.base.readonly;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * @ReadOnlyQuery 메서드를 실행하는 동안 현재 스레드에 묶인 세션을 읽기 전용 + FlushMode.MANUAL로 바꾸고, 끝나면 되돌린다.
+ * 트랜잭션 밖(컨트롤러)에서 OSIV 영속성 컨텍스트로 조회하는 경우가 대상이다.
+ * readOnly 트랜잭션 안에서는 스프링이 이미 같은 설정을 해주기 때문에 차이가 없다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.read-only-query.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadOnlyQueryAspect {
+
+    private final EntityManagerFactory emf;
+
+    @Around("@annotation(jpabook.jpashop.base.readonly.ReadOnlyQuery) " +
+            "|| @within(jpabook.jpashop.base.readonly.ReadOnlyQuery)")
+    public Object readOnly(ProceedingJoinPoint joinPoint) throws Throwable {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        if (em == null) {
+            // OSIV가 꺼져 있으면 조회마다 새 영속성 컨텍스트가 열렸다 닫히므로 바꿀 세션이 없다.
+            return joinPoint.proceed();
+        }
+
+        Session session = em.unwrap(Session.class);
+        boolean previousReadOnly = session.isDefaultReadOnly();
+        FlushMode previousFlushMode = session.getHibernateFlushMode();
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            session.setDefaultReadOnly(previousReadOnly);
+            session.setHibernateFlushMode(previousFlushMode);
+        }
+    }
+}
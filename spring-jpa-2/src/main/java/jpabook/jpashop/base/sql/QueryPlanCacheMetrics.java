@@ -0,0 +1,43 @@
+package jpabook.jpashop.base.sql;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 하이버네이트 쿼리 플랜 캐시 상태
+ * 적중/미스 횟수는 hibernate-micrometer가 hibernate.cache.query.plan 으로 남기고, 여기서는 적중률과 크기를 남긴다.
+ * (hibernate.generate_statistics 가 켜져 있어야 한다.)
+ */
+@Component
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public QueryPlanCacheMetrics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, QueryPlanCacheMetrics::hitRatio)
+                .description("Query plan cache hit ratio")
+                .register(registry);
+
+        // 실행된 서로 다른 JPQL 수 = 플랜 캐시에 들어가려는 항목 수 (plan_cache_max_size 보다 크면 계속 밀려난다.)
+        Gauge.builder("hibernate.query.plan.cache.queries", statistics, s -> s.getQueries().length)
+                .description("Distinct queries executed, an upper bound of query plan cache entries")
+                .register(registry);
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        long hit = statistics.getQueryPlanCacheHitCount();
+        long total = hit + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
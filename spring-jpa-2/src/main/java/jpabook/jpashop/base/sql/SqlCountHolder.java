@@ -0,0 +1,39 @@
+package jpabook.jpashop.base.sql;
+
+/**
+ * 현재 스레드의 SQL 통계를 보관한다.
+ * start()를 호출한 구간에서만 집계하고, 시작하지 않은 스레드의 SQL은 무시한다.
+ */
+public abstract class SqlCountHolder {
+
+    private static final ThreadLocal<SqlCount> holder = new ThreadLocal<>();
+
+    public static SqlCount start() {
+        SqlCount sqlCount = new SqlCount();
+        holder.set(sqlCount);
+        return sqlCount;
+    }
+
+    // 시작하지 않았으면 null
+    public static SqlCount get() {
+        return holder.get();
+    }
+
+    public static void clear() {
+        holder.remove();
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        SqlCount sqlCount = holder.get();
+        if (sqlCount != null) {
+            sqlCount.record(sql, elapsedNanos);
+        }
+    }
+
+    static void recordRows(long rows) {
+        SqlCount sqlCount = holder.get();
+        if (sqlCount != null) {
+            sqlCount.recordRows(rows);
+        }
+    }
+}
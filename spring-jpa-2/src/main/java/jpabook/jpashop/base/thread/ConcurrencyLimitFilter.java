@@ -0,0 +1,69 @@
+package jpabook.jpashop.base.thread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시에 처리하는 요청 수 제한 (bulkhead)
+ * 플랫폼 스레드는 톰캣 스레드 풀 크기가 곧 동시 요청 수 상한이었지만, 가상 스레드는 요청마다 새로 만들어서 상한이 없다.
+ * 그대로 두면 커넥션 풀 앞에 수천 개가 몰려서 connectionTimeout 으로 한꺼번에 실패하므로, 커넥션 풀 크기에 맞춰 여기서 기다리게 한다.
+ * 가상 스레드는 세마포어에서 기다리는 동안 캐리어 스레드를 놓아주기 때문에 대기 비용이 거의 없다.
+ * acquireTimeout 안에 자리가 나지 않으면 503으로 바로 돌려준다.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = meterRegistry.counter("http.server.requests.concurrency.rejected");
+
+        Gauge.builder("http.server.requests.concurrency.active", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.queued", permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!tryAcquire()) {
+            rejected.increment();
+            log.warn("동시 요청 한도 초과 [{} {}]", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package jpabook.jpashop.base.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 가상 스레드 실행 모드 (app.threads.virtual.enabled=true, Java 21 이상에서 실행해야 한다.)
+ * - 톰캣 요청 처리 : 커넥터 executor를 가상 스레드 executor로 교체
+ * - @Async, MVC 비동기 요청 : applicationTaskExecutor를 가상 스레드 executor로 교체 (부트 기본 ThreadPoolTaskExecutor는 빠진다.)
+ * - 동시 요청 수 : 커넥션 풀 크기만큼으로 제한 (ConcurrencyLimitFilter)
+ *
+ * 요청 처리 스레드가 JDBC 응답을 기다리는 동안 블로킹되는 것은 같지만, 가상 스레드는 기다리는 동안 캐리어 스레드를 놓아준다.
+ * synchronized 블록 안에서 블로킹되면 캐리어 스레드에 고정(pinning)되므로 -Djdk.tracePinnedThreads=short 로 확인한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        log.info("가상 스레드 실행 모드로 시작합니다. Java {}", Runtime.version());
+        return VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    /**
+     * 기본값은 커넥션 풀 크기, DB를 거치지 않는 요청(카테고리 트리 등)도 같이 세기 때문에 부족하면 max-concurrent-requests를 올린다.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${app.threads.virtual.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+            @Value("${app.threads.virtual.acquire-timeout:2s}") Duration acquireTimeout,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.base.thread;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 executor 생성
+ * 소스는 Java 17로 컴파일하기 때문에 Java 21 API(Executors.newVirtualThreadPerTaskExecutor)는 리플렉션으로 호출한다.
+ */
+public abstract class VirtualThreads {
+
+    private static final int VIRTUAL_THREAD_FEATURE_VERSION = 21;
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= VIRTUAL_THREAD_FEATURE_VERSION;
+    }
+
+    // 작업마다 가상 스레드를 하나씩 만드는 executor, 풀링하지 않는다.
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new IllegalStateException("가상 스레드는 Java " + VIRTUAL_THREAD_FEATURE_VERSION
+                    + " 이상에서만 사용할 수 있습니다. 현재 버전 = " + Runtime.version());
+        }
+
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor를 만들 수 없습니다.", e);
+        }
+    }
+}
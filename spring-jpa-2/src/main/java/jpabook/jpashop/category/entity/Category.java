@@ -6,23 +6,60 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.jpa.QueryHints;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 import static javax.persistence.FetchType.LAZY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
+/**
+ * 카테고리 계층은 parent 참조와 함께 조상 id 경로(path)를 같이 저장한다. (materialized path)
+ * 루트는 "/", 1 -> 5 아래의 카테고리는 "/1/5/" -> 하위 트리 전체를 path like 한 번으로 조회할 수 있다.
+ */
 @Entity
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path"))
+@Cache(usage = READ_WRITE, region = "category")
+@NamedQueries({
+        @NamedQuery(name = "Category.findAllFlat", query = "select new jpabook.jpashop.category.repository.CategoryFlatDto" +
+                "(c.id, c.name, p.id, c.depth) " +
+                "from Category c " +
+                "left join c.parent p " +
+                "order by c.depth, c.id"),
+        @NamedQuery(name = "Category.findSubtree", query = "select c from Category c " +
+                "where c.id = :id or c.path like :subtreePath " +
+                "order by c.depth, c.id"),
+        @NamedQuery(name = "Category.findItemsInSubtree", query = "select distinct i from Category c " +
+                "join c.items i " +
+                "where c.id = :id or c.path like :subtreePath " +
+                "order by i.id",
+                hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true")),
+        @NamedQuery(name = "Category.moveSubtree", query = "update Category c " +
+                "set c.path = concat(:newSubtreePath, substring(c.path, :suffixStart)), " +
+                "c.depth = c.depth + :depthDelta " +
+                "where c.path like :oldSubtreePath")
+})
 public class Category extends BaseEntity {
 
+    private static final String ROOT_PATH = "/";
+
     private String name;
 
+    // 조상 id 경로, 자기 자신은 포함하지 않는다. (시퀀스 id가 persist 시점에 정해지므로 부모 id만 있으면 insert 전에 채울 수 있다.)
+    @Column(nullable = false)
+    private String path;
+
+    private int depth;
+
     @ManyToMany
+    @Cache(usage = READ_WRITE, region = "category.items")
     @JoinTable(name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
             inverseJoinColumns = @JoinColumn(name = "item_id"))
@@ -34,4 +71,55 @@ public class Category extends BaseEntity {
 
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
+
+    // 생성 메서드, 부모는 이미 persist 되어 id가 있어야 한다.
+    public static Category createCategory(String name, Category parent) {
+        Category category = new Category();
+        category.name = name;
+        category.placeUnder(parent);
+
+        return category;
+    }
+
+    // 연관관계 메서드
+    public void addItem(Item item) {
+        items.add(item);
+        item.getCategories().add(this);
+    }
+
+    /**
+     * 하위 카테고리들의 path 앞부분
+     * 이 카테고리 아래의 모든 카테고리는 path가 이 값으로 시작한다.
+     */
+    public String getSubtreePath() {
+        return path + getId() + "/";
+    }
+
+    /**
+     * 부모 변경
+     * 자기 자신의 path만 바꾸고, 하위 카테고리들의 path는 CategoryRepository.moveSubtree 벌크 update로 맞춘다.
+     */
+    public void changeParent(Category newParent) {
+        if (newParent != null && (newParent == this || newParent.getPath().startsWith(getSubtreePath()))) {
+            throw new IllegalStateException("하위 카테고리 아래로 옮길 수 없습니다.");
+        }
+
+        if (parent != null) {
+            parent.getChild().remove(this);
+        }
+        placeUnder(newParent);
+    }
+
+    private void placeUnder(Category parent) {
+        this.parent = parent;
+        if (parent == null) {
+            this.path = ROOT_PATH;
+            this.depth = 0;
+            return;
+        }
+
+        this.path = parent.getSubtreePath();
+        this.depth = parent.getDepth() + 1;
+        parent.getChild().add(this);
+    }
 }
@@ -0,0 +1,16 @@
+package jpabook.jpashop.category.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 카테고리 트리 스냅샷을 만들기 위한 한 줄짜리 조회용 DTO
+ */
+@Data
+@AllArgsConstructor
+public class CategoryFlatDto {
+    private Long id;
+    private String name;
+    private Long parentId;
+    private int depth;
+}
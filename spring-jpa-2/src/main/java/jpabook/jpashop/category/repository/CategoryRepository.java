@@ -0,0 +1,61 @@
+package jpabook.jpashop.category.repository;
+
+import jpabook.jpashop.category.entity.Category;
+import jpabook.jpashop.item.entity.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    // 부모가 자식보다 먼저 나오도록 depth 순으로 정렬 (트리 스냅샷 구성용)
+    public List<CategoryFlatDto> findAllFlat() {
+        return em.createNamedQuery("Category.findAllFlat", CategoryFlatDto.class).getResultList();
+    }
+
+    // 자기 자신 + 모든 하위 카테고리, 레벨마다 parent/child를 지연 로딩하지 않고 쿼리 한 번
+    public List<Category> findSubtree(Category category) {
+        return em.createNamedQuery("Category.findSubtree", Category.class)
+                .setParameter("id", category.getId())
+                .setParameter("subtreePath", category.getSubtreePath() + "%")
+                .getResultList();
+    }
+
+    /**
+     * 하위 카테고리까지 포함한 상품 목록
+     * category_item 조인 한 번으로 가져오고, 쿼리 캐시에 올린다. (category, category_item, item 테이블이 바뀌면 자동 무효화)
+     */
+    public List<Item> findItemsInSubtree(Category category) {
+        return em.createNamedQuery("Category.findItemsInSubtree", Item.class)
+                .setParameter("id", category.getId())
+                .setParameter("subtreePath", category.getSubtreePath() + "%")
+                .getResultList();
+    }
+
+    /**
+     * 카테고리를 옮긴 뒤 하위 카테고리들의 path 앞부분과 depth를 update 한 번으로 바꾼다.
+     * 벌크 연산이라 영속성 컨텍스트에 올라와 있는 하위 카테고리는 옛 값을 그대로 들고 있다.
+     */
+    public int moveSubtree(String oldSubtreePath, String newSubtreePath, int depthDelta) {
+        return em.createNamedQuery("Category.moveSubtree")
+                .setParameter("newSubtreePath", newSubtreePath)
+                .setParameter("suffixStart", oldSubtreePath.length() + 1)
+                .setParameter("depthDelta", depthDelta)
+                .setParameter("oldSubtreePath", oldSubtreePath + "%")
+                .executeUpdate();
+    }
+}
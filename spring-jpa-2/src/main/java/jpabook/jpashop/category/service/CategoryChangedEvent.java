@@ -0,0 +1,13 @@
+package jpabook.jpashop.category.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 카테고리 추가, 이동 이벤트, 커밋된 뒤에 트리 스냅샷을 다시 만든다.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
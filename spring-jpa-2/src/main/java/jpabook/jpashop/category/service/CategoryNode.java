@@ -0,0 +1,20 @@
+package jpabook.jpashop.category.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 트리 스냅샷의 노드, 만들어진 뒤에는 바뀌지 않으므로 여러 요청이 락 없이 같이 읽는다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class CategoryNode {
+    private final Long id;
+    private final String name;
+    private final Long parentId;
+    private final int depth;
+    private final List<CategoryNode> children;
+}
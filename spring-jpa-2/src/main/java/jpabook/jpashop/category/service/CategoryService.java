@@ -0,0 +1,72 @@
+package jpabook.jpashop.category.service;
+
+import jpabook.jpashop.category.entity.Category;
+import jpabook.jpashop.category.repository.CategoryRepository;
+import jpabook.jpashop.item.entity.Item;
+import jpabook.jpashop.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Long create(String name, Long parentId) {
+        Category parent = parentId == null ? null : findCategory(parentId);
+        Category category = Category.createCategory(name, parent);
+        categoryRepository.save(category);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return category.getId();
+    }
+
+    /**
+     * 카테고리 이동
+     * 하위 카테고리를 하나씩 읽어서 고치지 않고 path 앞부분만 벌크 update로 바꾼다.
+     */
+    @Transactional
+    public void move(Long categoryId, Long newParentId) {
+        Category category = findCategory(categoryId);
+        Category newParent = newParentId == null ? null : findCategory(newParentId);
+
+        String oldSubtreePath = category.getSubtreePath();
+        int oldDepth = category.getDepth();
+        category.changeParent(newParent);
+
+        categoryRepository.moveSubtree(oldSubtreePath, category.getSubtreePath(), category.getDepth() - oldDepth);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        Category category = findCategory(categoryId);
+        category.addItem(itemRepository.findOne(itemId));
+    }
+
+    public List<Category> findSubtree(Long categoryId) {
+        return categoryRepository.findSubtree(findCategory(categoryId));
+    }
+
+    // 하위 카테고리의 상품까지 포함
+    public List<Item> findItems(Long categoryId) {
+        return categoryRepository.findItemsInSubtree(findCategory(categoryId));
+    }
+
+    private Category findCategory(Long id) {
+        Category category = categoryRepository.findOne(id);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. categoryId = " + id);
+        }
+        return category;
+    }
+}
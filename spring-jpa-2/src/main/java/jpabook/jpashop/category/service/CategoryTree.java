@@ -0,0 +1,79 @@
+package jpabook.jpashop.category.service;
+
+import jpabook.jpashop.category.repository.CategoryFlatDto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 카테고리 전체를 메모리에 올린 불변 트리
+ * 바뀔 때마다 통째로 새로 만들어서 교체한다. (CategoryTreeCache)
+ */
+public class CategoryTree {
+
+    private final List<CategoryNode> roots;
+    private final Map<Long, CategoryNode> nodes;
+
+    private CategoryTree(List<CategoryNode> roots, Map<Long, CategoryNode> nodes) {
+        this.roots = roots;
+        this.nodes = nodes;
+    }
+
+    /**
+     * depth 순으로 정렬된 목록을 받아서 트리를 만든다.
+     */
+    public static CategoryTree of(List<CategoryFlatDto> categories) {
+        Map<Long, List<CategoryFlatDto>> childrenByParent = new HashMap<>();
+        List<CategoryFlatDto> rootRows = new ArrayList<>();
+        for (CategoryFlatDto category : categories) {
+            if (category.getParentId() == null) {
+                rootRows.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<CategoryNode> roots = build(rootRows, childrenByParent, nodes);
+        return new CategoryTree(roots, Collections.unmodifiableMap(nodes));
+    }
+
+    private static List<CategoryNode> build(List<CategoryFlatDto> rows,
+                                            Map<Long, List<CategoryFlatDto>> childrenByParent,
+                                            Map<Long, CategoryNode> nodes) {
+        List<CategoryNode> result = new ArrayList<>(rows.size());
+        for (CategoryFlatDto row : rows) {
+            List<CategoryNode> children = build(childrenByParent.getOrDefault(row.getId(), List.of()), childrenByParent, nodes);
+            CategoryNode node = new CategoryNode(row.getId(), row.getName(), row.getParentId(), row.getDepth(), children);
+            nodes.put(node.getId(), node);
+            result.add(node);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public List<CategoryNode> getRoots() {
+        return roots;
+    }
+
+    public Optional<CategoryNode> find(Long id) {
+        return Optional.ofNullable(nodes.get(id));
+    }
+
+    // 루트부터 해당 카테고리까지의 경로 (breadcrumb)
+    public List<CategoryNode> findPath(Long id) {
+        List<CategoryNode> path = new ArrayList<>();
+        for (CategoryNode node = nodes.get(id); node != null; node = nodes.get(node.getParentId())) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,62 @@
+package jpabook.jpashop.category.service;
+
+import jpabook.jpashop.category.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 카테고리 트리 스냅샷
+ * 조회(카탈로그 탐색)는 volatile 필드 하나만 읽고 DB, 트랜잭션, 커넥션 풀을 거치지 않는다.
+ * 카테고리가 바뀌면 커밋 후에 전체를 쿼리 한 번으로 다시 읽어서 통째로 교체한다.
+ */
+@Slf4j
+@Component
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CategoryTree tree;
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // 커밋 후 콜백에서도 돌기 때문에 기존 트랜잭션에 참여하지 않고 새로 연다.
+        // 읽기 전용이면 replica로 라우팅되어 복제 지연 동안 방금 커밋한 변경이 빠진 트리를 들고 있게 되므로 primary(읽기/쓰기)로 읽는다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public CategoryTree get() {
+        CategoryTree current = tree;
+        if (current == null) {
+            return reload();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * 동시에 여러 번 바뀌어도 한 번에 하나씩 다시 읽어야 먼저 시작한 재구성이 나중 결과를 덮어쓰지 않는다.
+     */
+    public synchronized CategoryTree reload() {
+        CategoryTree reloaded = transactionTemplate.execute(status -> CategoryTree.of(categoryRepository.findAllFlat()));
+        tree = reloaded;
+        log.debug("category tree reloaded. size={}", reloaded.size());
+        return reloaded;
+    }
+}
@@ -5,16 +5,24 @@ import jpabook.jpashop.category.entity.Category;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.jpa.QueryHints;
 
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.Entity;
 import javax.persistence.Inheritance;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
+import javax.persistence.Version;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static javax.persistence.InheritanceType.SINGLE_TABLE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
 @Getter
@@ -24,12 +32,26 @@ import static javax.persistence.InheritanceType.SINGLE_TABLE;
 @Inheritance(strategy = SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
 @SuperBuilder
+@Cache(usage = READ_WRITE, region = "item") // 하위 타입(Book, Album, Movie)도 같은 region에 저장된다.
+@NamedQueries({
+        @NamedQuery(name = "Item.findAll", query = "select i from Item i",
+                hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true")),
+        @NamedQuery(name = "Item.findByIds", query = "select i from Item i where i.id in :ids")
+})
+// JPQL 벌크 update는 item region 전체와 item 쿼리 캐시를 비우기 때문에 재고 차감은 네이티브로 (ItemRepository.removeStock)
+@NamedNativeQuery(name = "Item.removeStock", query = "update item " +
+        "set stock_quantity = stock_quantity - :quantity, version = version + 1 " +
+        "where id = :id and stock_quantity >= :quantity")
 public abstract class Item extends BaseEntity {
 
     private String name;
     private int price;
     private int stockQuantity;
 
+    // 더티 체킹으로 재고를 바꾸는 경로(수정, 주문 취소)의 lost update 방지
+    @Version
+    private Long version;
+
     @ManyToMany(mappedBy = "items")
     private List<Category> categories = new ArrayList<>();
 
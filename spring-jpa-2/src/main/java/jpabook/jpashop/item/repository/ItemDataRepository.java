@@ -0,0 +1,17 @@
+package jpabook.jpashop.item.repository;
+
+import jpabook.jpashop.item.entity.Item;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ItemRepository의 Spring Data JPA 버전, 목록 조회는 ItemView 레코드로 필요한 컬럼만 읽는다.
+ */
+public interface ItemDataRepository extends JpaRepository<Item, Long> {
+
+    <T> List<T> findAllBy(Class<T> type);
+
+    List<ItemView> findViewsByIdIn(Collection<Long> ids);
+}
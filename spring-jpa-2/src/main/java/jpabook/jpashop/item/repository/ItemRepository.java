@@ -1,10 +1,16 @@
 package jpabook.jpashop.item.repository;
 
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.item.entity.Item;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,8 +31,55 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    // 주문 폼, 상품 목록에서 매번 호출되므로 쿼리 캐시에 올린다. (item 테이블이 바뀌면 자동 무효화, Item 엔티티의 @NamedQuery 힌트)
     public List<Item> findAll() {
-        return em.createQuery("select i from Item i", Item.class)
+        return em.createNamedQuery("Item.findAll", Item.class).getResultList();
+    }
+
+    public List<Item> findByIds(Collection<Long> ids) {
+        return em.createNamedQuery("Item.findByIds", Item.class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
+
+    /**
+     * 재고 차감을 조건부 update 한 번으로 처리한다.
+     * 읽고 -> 계산하고 -> 쓰는 더티 체킹과 달리 DB가 원자적으로 차감하기 때문에 동시 주문에도 재고가 유실되지 않고,
+     * 비관적 락처럼 조회 시점부터 row를 잡고 있지 않아서 경합이 짧다.
+     *
+     * 벌크 연산은 기본으로 item region 전체와 item 테이블을 쓰는 쿼리 캐시(상품 목록 등)를 모두 비운다.
+     * 주문마다 상품 캐시가 통째로 날아가지 않도록 동기화할 쿼리 공간을 빈 값으로 좁히고, 바뀐 상품 하나만 2차 캐시에서 뺀다.
+     * (쿼리 캐시는 id 목록만 들고 있고 재고 차감으로 목록이 바뀌지는 않는다.)
+     * 커밋 전에 다른 트랜잭션이 이전 재고를 다시 캐시에 올릴 수 있으므로 트랜잭션이 끝난 뒤에 한 번 더 뺀다.
+     * 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 차감 후 엔티티를 다시 읽어서 맞춰준다.
+     */
+    public void removeStock(Item item, int quantity) {
+        int updated = em.createNamedQuery("Item.removeStock")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("")
+                .setParameter("quantity", quantity)
+                .setParameter("id", item.getId())
+                .executeUpdate();
+
+        if (updated == 0) {
+            throw new NotEnoughStockException("need more stock!");
+        }
+
+        evictFromCache(item.getId());
+        em.refresh(item);
+    }
+
+    private void evictFromCache(Long itemId) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        cache.evict(Item.class, itemId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Item.class, itemId);
+                }
+            });
+        }
+    }
 }
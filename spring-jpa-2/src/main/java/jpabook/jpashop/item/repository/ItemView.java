@@ -0,0 +1,7 @@
+package jpabook.jpashop.item.repository;
+
+/**
+ * 상품 목록용 레코드 프로젝션 (생성자 파라미터 이름과 같은 필드만 조회한다.)
+ */
+public record ItemView(Long id, String name, int price, int stockQuantity) {
+}
@@ -1,5 +1,6 @@
 package jpabook.jpashop.item.service;
 
+import jpabook.jpashop.base.metrics.ServiceMetric;
 import jpabook.jpashop.item.base.Book;
 import jpabook.jpashop.item.controller.BookForm;
 import jpabook.jpashop.item.entity.Item;
@@ -22,6 +23,7 @@ public class ItemService {
         itemRepository.save(item);
     }
 
+    @ServiceMetric("item.change")
     @Transactional
     public void changeItem(BookForm form) {
         Book book = (Book) itemRepository.findOne(form.getId());
@@ -8,18 +8,38 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.jpa.QueryHints;
 
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
+import javax.persistence.QueryHint;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+
 @Entity
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_member_name", columnNames = "name")) // 동시 가입 중복은 DB가 막는다.
+@Cache(usage = READ_WRITE, region = "member")
+@NamedQueries({
+        @NamedQuery(name = "Member.findAll", query = "select m from Member m",
+                hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true")),
+        @NamedQuery(name = "Member.findByName", query = "select m from Member m where m.name = :name"),
+        @NamedQuery(name = "Member.findByIds", query = "select m from Member m where m.id in :ids"),
+        @NamedQuery(name = "Member.countByName", query = "select count(m) from Member m where m.name = :name"),
+        @NamedQuery(name = "Member.findNamesIn", query = "select m.name from Member m where m.name in :names"),
+        @NamedQuery(name = "Member.findAllNames", query = "select m.name from Member m")
+})
 public class Member extends BaseEntity {
 
     private String name;
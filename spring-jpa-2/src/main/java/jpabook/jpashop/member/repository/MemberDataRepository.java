@@ -0,0 +1,19 @@
+package jpabook.jpashop.member.repository;
+
+import jpabook.jpashop.member.entity.Member;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MemberRepository(EntityManager 직접 사용)의 Spring Data JPA 버전
+ * 엔티티 대신 프로젝션 타입을 넘기면 필요한 컬럼만 조회한다.
+ */
+public interface MemberDataRepository extends JpaRepository<Member, Long> {
+
+    Optional<Member> findByName(String name);
+
+    // 동적 프로젝션 : findAllBy(MemberSummary.class), findAllBy(Member.class)
+    <T> List<T> findAllBy(Class<T> type);
+}
@@ -2,12 +2,15 @@ package jpabook.jpashop.member.repository;
 
 import jpabook.jpashop.member.entity.Member;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 // @Repostiry 안의 @Component로 인해 컴포넌트 스캔에 의해 스프링 빈으로 등록
 @Repository
@@ -21,18 +24,43 @@ public class MemberRepository {
         return member.getId();
     }
 
+    // 주문 폼에서 매번 호출되므로 쿼리 캐시에 올린다. (member 테이블이 바뀌면 자동 무효화, Member 엔티티의 @NamedQuery 힌트)
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class).getResultList();
+        return em.createNamedQuery("Member.findAll", Member.class).getResultList();
     }
 
     public List<Member> findByName(String name) {
-        return em.createQuery("select m from Member m where m.name = :name", Member.class)
+        return em.createNamedQuery("Member.findByName", Member.class)
                 .setParameter("name", name)
                 .getResultList();
     }
 
+    public List<Member> findByIds(Collection<Long> ids) {
+        return em.createNamedQuery("Member.findByIds", Member.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    public List<String> findNamesIn(Collection<String> names) {
+        return em.createNamedQuery("Member.findNamesIn", String.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    // 전체 회원 이름을 커서로 읽는다. -> 호출하는 쪽에서 close 해야함
+    public Stream<String> streamAllNames() {
+        return em.createNamedQuery("Member.findAllNames", String.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+    }
+
+    // 유니크 제약 위반을 저장 시점에 바로 확인할 때 사용 (DataIntegrityViolationException으로 변환된다.)
+    public void flush() {
+        em.flush();
+    }
+
     public Long count(String name) {
-        return em.createQuery("select count(m) from Member m where m.name = :name", Long.class)
+        return em.createNamedQuery("Member.countByName", Long.class)
                 .setParameter("name", name)
                 .getSingleResult();
     }
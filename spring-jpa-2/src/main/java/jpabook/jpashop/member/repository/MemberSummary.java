@@ -0,0 +1,12 @@
+package jpabook.jpashop.member.repository;
+
+import jpabook.jpashop.base.data.Address;
+
+/**
+ * 회원 목록 API용 닫힌(closed) 인터페이스 프로젝션
+ * 쓰는 필드만 getter로 선언하면 Spring Data가 select 절을 name, address 컬럼으로 줄인다. (orders, 생성일 등은 읽지 않는다.)
+ */
+public interface MemberSummary {
+    String getName();
+    Address getAddress();
+}
@@ -0,0 +1,85 @@
+package jpabook.jpashop.member.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 가입된 회원 이름의 블룸 필터
+ * mightContain()이 false면 확실히 없는 이름이라서 중복 확인 쿼리를 생략할 수 있다.
+ * true면 오탐일 수 있으므로 DB로 다시 확인해야 한다.
+ * 여러 스레드가 동시에 put 할 수 있도록 비트를 AtomicLongArray에 CAS로 기록한다.
+ */
+@Component
+public class MemberNameFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    public MemberNameFilter(@Value("${app.member.name-filter.expected-insertions:1000000}") int expectedInsertions,
+                            @Value("${app.member.name-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        // 최적 비트 수 m = -n ln(p) / (ln 2)^2, 해시 함수 수 k = m / n ln 2
+        long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((size + 63) / 64));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String name) {
+        if (name == null) {
+            return;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1, h2, i));
+        }
+    }
+
+    public boolean mightContain(String name) {
+        if (name == null) {
+            return false;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1, h2, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 해시 두 개로 k개의 위치를 만든다. (Kirsch-Mitzenmacher)
+    private long index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // FNV-1a 64bit
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -1,44 +1,135 @@
 package jpabook.jpashop.member.service;
 
+import jpabook.jpashop.base.metrics.ServiceMetric;
 import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.member.repository.MemberDataRepository;
 import jpabook.jpashop.member.repository.MemberRepository;
+import jpabook.jpashop.member.repository.MemberSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true) // JPA의 모든 데이터 변경은 트랜잭션 안에서 실행되어야함 -> 없으면 지연로딩도 동작 X
 @RequiredArgsConstructor
 public class MemberService {
 
+    private static final String DUPLICATE_MEMBER = "이미 존재하는 회원입니다.";
+
     private final MemberRepository memberRepository;
+    private final MemberDataRepository memberDataRepository;
+    private final MemberNameFilter memberNameFilter;
+
+    // 이미 가입된 회원 이름으로 블룸 필터를 채운다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadMemberNames() {
+        try (Stream<String> names = memberRepository.streamAllNames()) {
+            names.forEach(memberNameFilter::put);
+        }
+    }
 
+    @ServiceMetric("member.join")
     @Transactional // readOnly=false가 디폴트!!
     public Long join(Member member) {
-        validateDuplicateMember(member);
+        validateDuplicateName(member.getName());
         memberRepository.save(member);
+        flush();
+        memberNameFilter.put(member.getName());
         return member.getId();
     }
 
-    private void validateDuplicateMember(Member member) {
-        Long count = memberRepository.count(member.getName());
+    /**
+     * 여러 명 가입
+     * 중복 확인은 블룸 필터에 걸린 이름만 in 쿼리 한 번으로 하고, insert는 flush 시점에 JDBC 배치로 나간다.
+     */
+    @Transactional
+    public List<Long> joinAll(List<Member> members) {
+        Set<String> names = new HashSet<>();
+        List<String> candidates = new ArrayList<>();
+        for (Member member : members) {
+            String name = member.getName();
+            if (name != null && !names.add(name)) {
+                throw new IllegalStateException(DUPLICATE_MEMBER);
+            }
+            if (memberNameFilter.mightContain(name)) {
+                candidates.add(name);
+            }
+        }
+
+        if (!candidates.isEmpty() && !memberRepository.findNamesIn(candidates).isEmpty()) {
+            throw new IllegalStateException(DUPLICATE_MEMBER);
+        }
+
+        List<Long> memberIds = new ArrayList<>(members.size());
+        for (Member member : members) {
+            memberIds.add(memberRepository.save(member));
+        }
+        flush();
+        names.forEach(memberNameFilter::put);
+
+        return memberIds;
+    }
+
+    /**
+     * 블룸 필터에 없는 이름은 DB에도 없으므로 count 쿼리를 생략한다.
+     * 있다고 나온 경우(오탐 포함)만 DB로 확인하고, 동시에 같은 이름으로 가입하는 경우는 유니크 인덱스가 막는다.
+     */
+    private void validateDuplicateName(String name) {
+        if (!memberNameFilter.mightContain(name)) {
+            return;
+        }
+
+        Long count = memberRepository.count(name);
         if (count > 0) {
-            throw new IllegalStateException("이미 존재하는 회원입니다.");
+            throw new IllegalStateException(DUPLICATE_MEMBER);
         }
     }
 
+    // insert를 바로 실행해서 유니크 제약 위반을 기존과 같은 예외로 바꾼다.
+    private void flush() {
+        try {
+            memberRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(DUPLICATE_MEMBER, e);
+        }
+    }
+
+    /**
+     * 이름 변경도 가입과 같은 방식으로 중복을 막는다.
+     * update를 바로 flush 해서 제약 위반을 같은 예외로 바꾸고, 실패하면 블룸 필터에 넣지 않는다.
+     */
     @Transactional
     public void update(Long id, String newName) {
         Member member = memberRepository.findOne(id);
+        if (Objects.equals(member.getName(), newName)) {
+            return;
+        }
+
+        validateDuplicateName(newName);
         member.changeName(newName);
+        flush();
+        memberNameFilter.put(newName);
     }
 
     public List<Member> findMembers() {
         return memberRepository.findAll();
     }
 
+    // 이름, 주소만 조회 (엔티티, 영속성 컨텍스트 스냅샷을 만들지 않는다.)
+    public List<MemberSummary> findMemberSummaries() {
+        return memberDataRepository.findAllBy(MemberSummary.class);
+    }
+
     public Member findOne(Long id) {
         return memberRepository.findOne(id);
     }
@@ -1,5 +1,6 @@
 package jpabook.jpashop.order.controller;
 
+import jpabook.jpashop.base.concurrent.FanOutLoader;
 import jpabook.jpashop.delivery.entity.Delivery;
 import jpabook.jpashop.item.entity.Item;
 import jpabook.jpashop.item.service.ItemService;
@@ -23,6 +24,7 @@ public class OrderController {
     private final OrderService orderService;
     private final MemberService memberService;
     private final ItemService itemService;
+    private final FanOutLoader fanOutLoader;
 
     @GetMapping("/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
@@ -38,13 +40,15 @@ public class OrderController {
         return "redirect:/orders";
     }
 
+    // 회원 목록과 상품 목록은 서로 관계없는 조회라 동시에 실행한다. (화면에서는 id, name만 쓰므로 준영속이어도 된다.)
     @GetMapping("/order")
     public String createForm(Model model) {
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
-
-        model.addAttribute("members", members);
-        model.addAttribute("items", items);
+        fanOutLoader.load("order.create-form",
+                memberService::findMembers,
+                itemService::findItems,
+                (List<Member> members, List<Item> items) -> model
+                        .addAttribute("members", members)
+                        .addAttribute("items", items));
 
         return "order/order-form";
     }
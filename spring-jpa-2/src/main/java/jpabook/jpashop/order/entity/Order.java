@@ -26,6 +26,63 @@ import static javax.persistence.FetchType.LAZY;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+@NamedQueries({
+        @NamedQuery(name = "Order.findAll", query = "select o from Order o"),
+        @NamedQuery(name = "Order.findAllWithMemberDelivery", query = "select o from Order o " +
+                "left join fetch o.member m " +
+                "left join fetch o.delivery d"),
+        @NamedQuery(name = "Order.findPageWithMemberDelivery", query = "select o from Order o " +
+                "join fetch o.member m " +
+                "join fetch o.delivery d"),
+        @NamedQuery(name = "Order.findWithMemberDeliveryOrderById", query = "select o from Order o " +
+                "join fetch o.member m " +
+                "join fetch o.delivery d " +
+                "order by o.id"),
+        @NamedQuery(name = "Order.findWithMemberDeliveryAfterId", query = "select o from Order o " +
+                "join fetch o.member m " +
+                "join fetch o.delivery d " +
+                "where o.id > :lastId " +
+                "order by o.id"),
+        @NamedQuery(name = "Order.fetchOrderItems", query = "select distinct o from Order o " +
+                "join fetch o.orderItems oi " +
+                "join fetch oi.item i " +
+                "where o.id in :orderIds"),
+        @NamedQuery(name = "Order.findIdsAfterId", query = "select o.id from Order o " +
+                "where o.id > :lastOrderId " +
+                "order by o.id"),
+        @NamedQuery(name = "Order.findOrderQueryDtos", query = "select new jpabook.jpashop.order.repository.OrderQueryDto" +
+                "(o.id, m.name, o.orderDate, o.status, d.address) " +
+                "from Order o " +
+                "join o.member m " +
+                "join o.delivery d"),
+        @NamedQuery(name = "Order.findOrderFlatDtos", query = "select new jpabook.jpashop.order.repository.OrderFlatDto" +
+                "(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count) " +
+                "from Order o " +
+                "join o.member m " +
+                "join o.delivery d " +
+                "left join o.orderItems oi " +
+                "left join oi.item i " +
+                "where o.id in :orderIds " +
+                "order by o.id"),
+        @NamedQuery(name = "Order.findOrderSimpleQueryDtos", query = "select new jpabook.jpashop.order.repository.OrderSimpleQueryDto" +
+                "(o.id, m.name, o.orderDate, o.status, d.address) " +
+                "from Order o " +
+                "join o.member m " +
+                "join o.delivery d"),
+        @NamedQuery(name = "Order.findOrderSimpleQueryDtosOrderById", query = "select new jpabook.jpashop.order.repository.OrderSimpleQueryDto" +
+                "(o.id, m.name, o.orderDate, o.status, d.address) " +
+                "from Order o " +
+                "join o.member m " +
+                "join o.delivery d " +
+                "order by o.id"),
+        // OrderDataRepository.findOrderViews (Spring Data가 "도메인.메서드" 이름으로 찾는다.)
+        @NamedQuery(name = "Order.findOrderViews", query = "select new jpabook.jpashop.order.repository.OrderView" +
+                "(o.id, m.name, o.orderDate, o.status) " +
+                "from Order o " +
+                "join o.member m " +
+                "order by o.id desc"),
+        @NamedQuery(name = "Order.findOrderViews.count", query = "select count(o) from Order o")
+})
 public class Order extends BaseEntity {
 
     @ManyToOne(fetch = LAZY)
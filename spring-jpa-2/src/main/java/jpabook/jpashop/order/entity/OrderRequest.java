@@ -0,0 +1,16 @@
+package jpabook.jpashop.order.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRequest {
+
+    private Long memberId;
+    private Long itemId;
+    private int count;
+}
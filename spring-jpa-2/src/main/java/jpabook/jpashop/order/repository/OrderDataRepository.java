@@ -0,0 +1,20 @@
+package jpabook.jpashop.order.repository;
+
+import jpabook.jpashop.order.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * OrderRepository의 Spring Data JPA 버전
+ */
+public interface OrderDataRepository extends JpaRepository<Order, Long> {
+
+    // 엔티티가 필요하면 회원, 배송을 페치 조인으로 같이 (ToOne 관계라 페이징해도 된다.)
+    @EntityGraph(attributePaths = {"member", "delivery"})
+    Page<Order> findAllBy(Pageable pageable);
+
+    // @NamedQuery Order.findOrderViews, 카운트는 Order.findOrderViews.count (정렬은 쿼리에 고정)
+    Page<OrderView> findOrderViews(Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package jpabook.jpashop.order.repository;
+
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 + 주문상품을 한 줄로 펼친 조회용 DTO
+ * 주문상품 수만큼 row가 늘어나기 때문에 주문 정보는 중복된다.
+ * 주문상품이 없는 주문도 row 하나로 나오도록 외부 조인하기 때문에 주문상품 필드는 null일 수 있다.
+ */
+@Data
+@AllArgsConstructor
+public class OrderFlatDto {
+
+    private Long orderId;
+    private String name; // 주문자
+    private LocalDateTime orderDate; // 주문 날짜
+    private OrderStatus orderStatus; // 주문 상태
+    private Address address;
+
+    private String itemName; // 상품 이름
+    private Integer orderPrice; // 상품 가격
+    private Integer count; // 수량
+}
@@ -6,7 +6,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -24,22 +28,98 @@ public class OrderQueryRepository {
         return result;
     }
 
+    /**
+     * 주문을 먼저 조회한 뒤, 주문 id 목록으로 주문상품을 in 절 한 번에 조회한다.
+     * 1 + N 번의 쿼리가 1 + 1 번으로 줄어든다.
+     * 조회한 주문상품은 메모리에서 주문 id 기준으로 묶어서 주문에 넣어준다.
+     */
+    public List<OrderQueryDto> findAllByDto_optimization() {
+        List<OrderQueryDto> result = findOrders();
+        if (result.isEmpty()) {
+            return result;
+        }
+
+        List<Long> orderIds = toOrderIds(result);
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(orderIds);
+
+        result.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), new ArrayList<>())));
+
+        return result;
+    }
+
+    /**
+     * 주문, 회원, 배송, 주문상품, 상품을 한 번에 조인해서 펼친 row로 가져온 뒤 주문 단위로 다시 묶는다.
+     * 컬렉션 조인이라 row 기준 페이징이 안되기 때문에 주문 id 기준 keyset 페이징을 한다.
+     * lastOrderId 이후의 주문 id를 limit 만큼 인덱스로 잘라낸 뒤, 그 주문들의 row만 조회한다.
+     */
+    public List<OrderQueryDto> findAllByDto_flat(Long lastOrderId, int limit) {
+        List<Long> orderIds = em.createNamedQuery("Order.findIdsAfterId", Long.class)
+                .setParameter("lastOrderId", lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+
+        if (orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<OrderFlatDto> flats = em.createNamedQuery("Order.findOrderFlatDtos", OrderFlatDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        return toOrderQueryDtos(flats);
+    }
+
+    // 주문 id 순서대로 정렬된 row를 한 번만 돌면서 묶는다.
+    private List<OrderQueryDto> toOrderQueryDtos(List<OrderFlatDto> flats) {
+        Map<Long, OrderQueryDto> orderMap = new LinkedHashMap<>();
+        for (OrderFlatDto flat : flats) {
+            OrderQueryDto order = orderMap.computeIfAbsent(flat.getOrderId(), id -> {
+                OrderQueryDto dto = new OrderQueryDto(flat.getOrderId(), flat.getName(),
+                        flat.getOrderDate(), flat.getOrderStatus(), flat.getAddress());
+                dto.setOrderItems(new ArrayList<>());
+                return dto;
+            });
+
+            // 주문상품이 없는 주문은 주문상품 필드가 비어 있는 row 하나로 온다.
+            if (flat.getCount() != null) {
+                order.getOrderItems().add(new OrderItemQueryDto(flat.getOrderId(),
+                        flat.getItemName(), flat.getOrderPrice(), flat.getCount()));
+            }
+        }
+
+        return new ArrayList<>(orderMap.values());
+    }
+
+    private List<Long> toOrderIds(List<OrderQueryDto> result) {
+        List<Long> orderIds = new ArrayList<>(result.size());
+        for (OrderQueryDto orderQueryDto : result) {
+            orderIds.add(orderQueryDto.getOrderId());
+        }
+        return orderIds;
+    }
+
+    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
+        List<OrderItemQueryDto> orderItems = em.createNamedQuery("OrderItem.findOrderItemQueryDtos", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        // 주문 수만큼 미리 공간을 잡아서 rehash 없이 묶는다.
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = new HashMap<>((int) (orderIds.size() / 0.75f) + 1);
+        for (OrderItemQueryDto orderItem : orderItems) {
+            orderItemMap.computeIfAbsent(orderItem.getOrderId(), id -> new ArrayList<>()).add(orderItem);
+        }
+
+        return orderItemMap;
+    }
+
     private List<OrderItemQueryDto> findOrderItems(Long id) {
-        return em.createQuery("select new jpabook.jpashop.order.repository.OrderItemQueryDto" +
-                "(oi.order.id, oi.item.name, oi.orderPrice, oi.count)" +
-                "from OrderItem oi " +
-                "join oi.item i " +
-                "where oi.order.id =: id", OrderItemQueryDto.class)
+        return em.createNamedQuery("OrderItem.findOrderItemQueryDtosByOrderId", OrderItemQueryDto.class)
                 .setParameter("id", id)
                 .getResultList();
     }
 
     private List<OrderQueryDto> findOrders() {
-        return em.createQuery("select new jpabook.jpashop.order.repository.OrderQueryDto" +
-                "(o.id, m.name, o.orderDate, o.status, d.address)" +
-                "from Order o " +
-                "join o.member m " +
-                "join o.delivery d ", OrderQueryDto.class)
+        return em.createNamedQuery("Order.findOrderQueryDtos", OrderQueryDto.class)
                 .getResultList();
     }
 }
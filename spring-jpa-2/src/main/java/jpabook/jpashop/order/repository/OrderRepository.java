@@ -1,20 +1,35 @@
 package jpabook.jpashop.order.repository;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jpabook.jpashop.base.paging.Cursor;
 import jpabook.jpashop.order.entity.Order;
 import jpabook.jpashop.order.entity.OrderSearch;
-import lombok.RequiredArgsConstructor;
+import jpabook.jpashop.order.entity.OrderStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static jpabook.jpashop.member.entity.QMember.member;
+import static jpabook.jpashop.order.entity.QOrder.order;
 
 @Repository
-@RequiredArgsConstructor
 public class OrderRepository {
 
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
     private final EntityManager em;
+    private final JPAQueryFactory query;
+
+    public OrderRepository(EntityManager em) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+    }
 
     public void save(Order order) {
         em.persist(order);
@@ -25,21 +40,37 @@ public class OrderRepository {
     }
 
     public List<Order> findAll() {
-        return em.createQuery("select o from Order o", Order.class)
+        return em.createNamedQuery("Order.findAll", Order.class)
                 .getResultList();
     }
 
-    public List<Order> findAllWithItem() {
+    /**
+     * 컬렉션 페치 조인 + 페이징을 같이 쓰면 하이버네이트가 전체 결과를 메모리에 올려놓고 페이징한다.
+     * 그래서 두 번에 나눠서 조회한다.
+     * 1. ToOne 관계만 페치 조인해서 주문을 DB에서 페이징
+     * 2. 페이징된 주문 id로 주문상품 + 상품을 페치 조인 -> 같은 영속성 컨텍스트의 주문에 컬렉션이 채워진다.
+     */
+    public List<Order> findAllWithItem(int offset, int limit) {
         // fix Query dsl
-        return em.createQuery(
-                "select distinct o from Order o " +
-                        "join fetch o.member m " +
-                        "join fetch o.delivery d " +
-                        "join fetch o.orderItems oi " +
-                        "join fetch oi.item i", Order.class)
-                .setFirstResult(1)
-                .setMaxResults(100)
+        List<Order> orders = em.createNamedQuery("Order.findWithMemberDeliveryOrderById", Order.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        List<Long> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+        }
+
+        em.createNamedQuery("Order.fetchOrderItems", Order.class)
+                .setParameter("orderIds", orderIds)
                 .getResultList();
+
+        return orders;
     }
 
     /**
@@ -48,10 +79,7 @@ public class OrderRepository {
      * LAZY + 페치 조인으로 거의 대부분의 성능 문제를 해결할 수 있음
       */
     public List<Order> findAllWithMemberDelivery() {
-        return em.createQuery(
-                "select o from Order o " +
-                        "left join fetch o.member m " +
-                        "left join fetch o.delivery d", Order.class)
+        return em.createNamedQuery("Order.findAllWithMemberDelivery", Order.class)
                 .getResultList();
     }
 
@@ -60,50 +88,77 @@ public class OrderRepository {
      * ToOne 관계는 row를 증가시키지 않기 때문에 페이징 쿼리에 영향을 주지 않는다.
       */
     public List<Order> findAllWithMemberDelivery(int offset, int limit) {
-        return em.createQuery(
-                "select o from Order o " +
-                        "join fetch o.member m " +
-                        "join fetch o.delivery d", Order.class)
+        return em.createNamedQuery("Order.findPageWithMemberDelivery", Order.class)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
     }
 
+    /**
+     * offset 대신 마지막으로 조회한 주문 id 이후부터 조회한다. (keyset 페이징)
+     * 다음 페이지 존재 여부를 알기 위해 limit + 1 건을 가져온다.
+     */
+    public List<Order> findAllWithMemberDelivery(Cursor cursor, int limit) {
+        TypedQuery<Order> query;
+        if (cursor.isFirst()) {
+            query = em.createNamedQuery("Order.findWithMemberDeliveryOrderById", Order.class);
+        } else {
+            query = em.createNamedQuery("Order.findWithMemberDeliveryAfterId", Order.class)
+                    .setParameter("lastId", cursor.getLastId());
+        }
 
+        return query.setMaxResults(limit + 1)
+                .getResultList();
+    }
 
-    public List<Order> findAllByString(OrderSearch orderSearch) {
-        String jpql = "select o From Order o join o.member m";
-        boolean isFirstCondition = true;
+    /**
+     * 검색 조건이 null 이면 where 절에서 빠지는 동적 쿼리
+     * 조건 조합(모양)이 같으면 항상 같은 JPQL이 만들어지기 때문에 하이버네이트 쿼리 플랜 캐시를 그대로 탄다.
+     * 페이징 없이 부르는 화면, API가 테이블 전체를 엔티티로 올리지 않도록 최신 주문 MAX_SEARCH_RESULTS 건까지만 읽는다.
+     * 전체가 필요하면 findAll(orderSearch, offset, limit) + count 또는 stream을 쓴다.
+     */
+    public List<Order> findAll(OrderSearch orderSearch) {
+        return findAll(orderSearch, 0, MAX_SEARCH_RESULTS);
+    }
 
-        //주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " o.status = :status";
-        }
+    public List<Order> findAll(OrderSearch orderSearch, long offset, long limit) {
+        return query
+                .select(order)
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .orderBy(order.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
 
-        //회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " m.name like :name";
-        }
+    public long count(OrderSearch orderSearch) {
+        Long count = query
+                .select(order.count())
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .fetchOne();
 
-        TypedQuery<Order> query = em.createQuery(jpql, Order.class).setMaxResults(1000); //최대 1000건
-        if (orderSearch.getOrderStatus() != null) {
-            query = query.setParameter("status", orderSearch.getOrderStatus());
-        }
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query = query.setParameter("name", orderSearch.getMemberName());
-        }
-        return query.getResultList();
+        return count == null ? 0 : count;
+    }
+
+    // 결과를 List로 모으지 않고 커서로 한 건씩 읽는다. -> 호출하는 쪽에서 close 해야함
+    public Stream<Order> stream(OrderSearch orderSearch) {
+        return query
+                .select(order)
+                .from(order)
+                .join(order.member, member)
+                .where(statusEq(orderSearch.getOrderStatus()), nameLike(orderSearch.getMemberName()))
+                .stream();
+    }
+
+    private BooleanExpression statusEq(OrderStatus statusCond) {
+        return statusCond != null ? order.status.eq(statusCond) : null;
+    }
+
+    private BooleanExpression nameLike(String nameCond) {
+        return StringUtils.hasText(nameCond) ? member.name.like(nameCond) : null;
     }
 }
@@ -1,10 +1,12 @@
 package jpabook.jpashop.order.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -13,10 +15,16 @@ public class OrderSimpleQueryRepository {
     private final EntityManager em;
 
     public List<OrderSimpleQueryDto> findOrderDtos() {
-        return em.createQuery("select new jpabook.jpashop.order.repository.OrderSimpleQueryDto" +
-                        "(o.id, m.name, o.orderDate, o.status, d.address) " +
-                        "from Order o " +
-                        "join o.member m " +
-                        "join o.delivery d", OrderSimpleQueryDto.class).getResultList();
+        return em.createNamedQuery("Order.findOrderSimpleQueryDtos", OrderSimpleQueryDto.class).getResultList();
+    }
+
+    /**
+     * 전체 주문을 List로 올리지 않고 forward-only 커서로 한 줄씩 읽는다.
+     * fetchSize 만큼씩 DB에서 가져오고, 스트림을 닫을 때까지 커넥션을 잡고 있으므로 트랜잭션 안에서 try-with-resources로 사용해야 한다.
+     */
+    public Stream<OrderSimpleQueryDto> streamOrderDtos(int fetchSize) {
+        return em.createNamedQuery("Order.findOrderSimpleQueryDtosOrderById", OrderSimpleQueryDto.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
     }
 }
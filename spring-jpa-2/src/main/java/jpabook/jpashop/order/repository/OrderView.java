@@ -0,0 +1,11 @@
+package jpabook.jpashop.order.repository;
+
+import jpabook.jpashop.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록용 레코드 프로젝션 (Order.findOrderViews)
+ */
+public record OrderView(Long orderId, String memberName, LocalDateTime orderDate, OrderStatus orderStatus) {
+}
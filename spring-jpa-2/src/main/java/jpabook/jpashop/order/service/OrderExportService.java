@@ -0,0 +1,90 @@
+package jpabook.jpashop.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.order.repository.OrderSimpleQueryDto;
+import jpabook.jpashop.order.repository.OrderSimpleQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 전체 주문을 CSV / NDJSON으로 내보낸다.
+ * 커서로 한 줄씩 읽어서 바로 출력 스트림에 쓰기 때문에 주문 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String CSV_HEADER = "orderId,name,orderDate,orderStatus,city,street,zipcode";
+
+    private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return 내보낸 주문 수
+     */
+    public long export(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<OrderSimpleQueryDto> orders = orderSimpleQueryRepository.streamOrderDtos(FETCH_SIZE)) {
+            Iterator<OrderSimpleQueryDto> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                OrderSimpleQueryDto order = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(order) : objectMapper.writeValueAsString(order));
+                writer.write('\n');
+
+                // fetch size 단위로 내보내고, 영속성 컨텍스트도 비워서 쌓이지 않게 한다.
+                if (++count % FETCH_SIZE == 0) {
+                    writer.flush();
+                    em.clear();
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private String toCsv(OrderSimpleQueryDto order) {
+        Address address = order.getAddress();
+        return String.join(",",
+                String.valueOf(order.getOrderId()),
+                csv(order.getName()),
+                String.valueOf(order.getOrderDate()),
+                String.valueOf(order.getOrderStatus()),
+                csv(address != null ? address.getCity() : null),
+                csv(address != null ? address.getStreet() : null),
+                csv(address != null ? address.getZipcode() : null));
+    }
+
+    // 쉼표, 따옴표, 줄바꿈(\r, \n)이 들어간 값은 따옴표로 감싼다. (RFC 4180)
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -1,13 +1,16 @@
 package jpabook.jpashop.order.service;
 
 import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.metrics.ServiceMetric;
 import jpabook.jpashop.delivery.entity.Delivery;
 import jpabook.jpashop.delivery.entity.DeliveryStatus;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.item.entity.Item;
 import jpabook.jpashop.item.repository.ItemRepository;
 import jpabook.jpashop.member.entity.Member;
 import jpabook.jpashop.member.repository.MemberRepository;
 import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.order.entity.OrderRequest;
 import jpabook.jpashop.order.entity.OrderSearch;
 import jpabook.jpashop.order.repository.OrderRepository;
 import jpabook.jpashop.orderitem.entity.OrderItem;
@@ -15,7 +18,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
@@ -27,15 +35,18 @@ public class OrderService {
     private final ItemRepository itemRepository;
 
     // 주문
+    @ServiceMetric("order.place")
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
+        validateCount(count);
         Member member = memberRepository.findOne(memberId);
         Item item = itemRepository.findOne(itemId);
+        itemRepository.removeStock(item, count); // 조건부 update로 재고 차감
 
         Delivery delivery = new Delivery();
         delivery.setAddressAndStatus(member.getAddress(), DeliveryStatus.READY);
 
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
         Order order = Order.createOrder(member, delivery, orderItem);
 
         orderRepository.save(order);
@@ -43,7 +54,92 @@ public class OrderService {
         return order.getId();
     }
 
+    /**
+     * 여러 건 주문
+     * 회원, 상품을 건마다 em.find 하지 않고 in 쿼리로 한 번에 가져온다.
+     * 상품별 주문 수량을 먼저 합쳐서 재고를 검증하기 때문에 중간에 재고 부족으로 일부만 주문되는 일이 없다.
+     * 재고 감소는 상품마다 조건부 update 한 번, 주문 insert는 flush 시점에 JDBC 배치로 나간다. (hibernate.jdbc.batch_size)
+     */
+    @Transactional
+    public List<Long> placeOrders(List<OrderRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 수량을 합치기 전에 건마다 검사해야 음수 수량이 다른 건의 수량을 상쇄하지 못한다.
+        requests.forEach(this::validateRequest);
+
+        Set<Long> memberIds = new HashSet<>();
+        Map<Long, Integer> countByItemId = new HashMap<>();
+        for (OrderRequest request : requests) {
+            memberIds.add(request.getMemberId());
+            countByItemId.merge(request.getItemId(), request.getCount(), Integer::sum);
+        }
+
+        Map<Long, Member> members = new HashMap<>();
+        for (Member member : memberRepository.findByIds(memberIds)) {
+            members.put(member.getId(), member);
+        }
+
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findByIds(countByItemId.keySet())) {
+            items.put(item.getId(), item);
+        }
+
+        validateStock(items, countByItemId);
+        for (Map.Entry<Long, Integer> entry : countByItemId.entrySet()) {
+            itemRepository.removeStock(items.get(entry.getKey()), entry.getValue());
+        }
+
+        List<Long> orderIds = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            Member member = members.get(request.getMemberId());
+            if (member == null) {
+                throw new IllegalArgumentException("존재하지 않는 회원입니다. memberId = " + request.getMemberId());
+            }
+            Item item = items.get(request.getItemId());
+
+            Delivery delivery = new Delivery();
+            delivery.setAddressAndStatus(member.getAddress(), DeliveryStatus.READY);
+
+            OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), request.getCount());
+            Order order = Order.createOrder(member, delivery, orderItem);
+
+            orderRepository.save(order);
+            orderIds.add(order.getId());
+        }
+
+        return orderIds;
+    }
+
+    private void validateRequest(OrderRequest request) {
+        if (request.getMemberId() == null || request.getItemId() == null) {
+            throw new IllegalArgumentException("회원, 상품은 필수입니다.");
+        }
+        validateCount(request.getCount());
+    }
+
+    // 0 이하면 재고 차감 update가 오히려 재고를 늘린다.
+    private void validateCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다. count = " + count);
+        }
+    }
+
+    private void validateStock(Map<Long, Item> items, Map<Long, Integer> countByItemId) {
+        for (Map.Entry<Long, Integer> entry : countByItemId.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId = " + entry.getKey());
+            }
+            if (item.getStockQuantity() < entry.getValue()) {
+                throw new NotEnoughStockException("need more stock!");
+            }
+        }
+    }
+
     // 주문 취소
+    @ServiceMetric("order.cancel")
     @Transactional
     public void cancelOrder(Long id) {
         Order order = orderRepository.findOne(id);
@@ -51,7 +147,8 @@ public class OrderService {
     }
 
     // 주문 검색
+    @ServiceMetric("order.find")
     public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+        return orderRepository.findAll(orderSearch);
     }
 }
@@ -0,0 +1,17 @@
+package jpabook.jpashop.order.service;
+
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * 요청한 export 형식(format)을 지원하지 않을 때
+ * 서버 오류(500)가 아니라 잘못된 요청(400)으로 응답한다.
+ */
+@ResponseStatus(BAD_REQUEST)
+public class UnsupportedExportFormatException extends IllegalArgumentException {
+
+    public UnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
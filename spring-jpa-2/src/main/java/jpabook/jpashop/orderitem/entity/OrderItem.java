@@ -13,6 +13,8 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 
 import static javax.persistence.FetchType.LAZY;
 
@@ -21,6 +23,18 @@ import static javax.persistence.FetchType.LAZY;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @SuperBuilder
+@NamedQueries({
+        @NamedQuery(name = "OrderItem.findOrderItemQueryDtos", query = "select new jpabook.jpashop.order.repository.OrderItemQueryDto" +
+                "(oi.order.id, i.name, oi.orderPrice, oi.count) " +
+                "from OrderItem oi " +
+                "join oi.item i " +
+                "where oi.order.id in :orderIds"),
+        @NamedQuery(name = "OrderItem.findOrderItemQueryDtosByOrderId", query = "select new jpabook.jpashop.order.repository.OrderItemQueryDto" +
+                "(oi.order.id, oi.item.name, oi.orderPrice, oi.count) " +
+                "from OrderItem oi " +
+                "join oi.item i " +
+                "where oi.order.id = :id")
+})
 public class OrderItem extends BaseEntity {
 
     @ManyToOne(fetch = LAZY)
@@ -46,6 +60,11 @@ public class OrderItem extends BaseEntity {
         return orderItem;
     }
 
+    // 재고를 이미 차감한 경우 (ItemRepository.removeStock)
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        return new OrderItem(item, orderPrice, count);
+    }
+
     public void setOrder(Order order) {
         this.order = order;
     }
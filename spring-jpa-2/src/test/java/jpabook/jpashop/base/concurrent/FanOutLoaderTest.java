@@ -0,0 +1,109 @@
+package jpabook.jpashop.base.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.member.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class FanOutLoaderTest {
+
+    @Autowired
+    FanOutLoader fanOutLoader;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    void 동시에_읽기전용_트랜잭션으로_실행() throws Exception {
+        // 두 조회가 서로를 기다리므로 순서대로 실행하면 끝나지 않는다.
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> result = fanOutLoader.load("test",
+                () -> awaitOther(bothStarted, caller),
+                () -> awaitOther(bothStarted, caller),
+                List::of);
+
+        assertThat(result).containsExactly(true, true);
+    }
+
+    @Test
+    void 다른_스레드의_SQL도_호출한_쪽에_집계() throws Exception {
+        SqlCountHolder.start();
+
+        fanOutLoader.load("test",
+                () -> memberRepository.findByName("userA"),
+                () -> memberRepository.count("userB"),
+                (members, count) -> count);
+
+        assertSelectCount(2);
+    }
+
+    @Test
+    void 예외는_그대로_전달() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> fanOutLoader.load("test",
+                () -> memberRepository.findByName("userA"),
+                () -> {
+                    throw new IllegalArgumentException("fail");
+                },
+                (a, b) -> b));
+    }
+
+    @Test
+    void 제한_시간_초과() throws Exception {
+        FanOutLoader loader = new FanOutLoader(transactionManager, meterRegistry, 2, Duration.ofMillis(100));
+        CountDownLatch never = new CountDownLatch(1);
+        try {
+            assertThrows(QueryTimeoutException.class, () -> loader.load("test",
+                    () -> "fast",
+                    () -> await(never),
+                    (a, b) -> b));
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    private boolean awaitOther(CountDownLatch bothStarted, Thread caller) {
+        assertThat(Thread.currentThread()).isNotSameAs(caller);
+        assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+
+        bothStarted.countDown();
+        return await(bothStarted);
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
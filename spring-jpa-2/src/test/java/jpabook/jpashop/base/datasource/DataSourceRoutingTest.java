@@ -0,0 +1,174 @@
+package jpabook.jpashop.base.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * primary, replica 풀을 같은 H2 메모리 DB에 연결해서 라우팅만 확인한다.
+ * (DB를 나누면 ddl-auto가 primary에만 스키마를 만들어서, 시작 시점의 읽기 전용 조회가 replica에서 실패한다.)
+ * 어느 풀을 탔는지는 URL 대신 풀별 사용 중인 커넥션 수로 확인한다.
+ * OSIV(spring.jpa.open-in-view 기본값 true)로 요청 동안 열려 있는 영속성 컨텍스트에서도 트랜잭션마다 다시 고르는지 MockMvc로 확인한다.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.primary.jdbc-url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "app.datasource.primary.username=sa",
+        "app.datasource.primary.maximum-pool-size=5",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.maximum-pool-size=10",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+@AutoConfigureMockMvc
+class DataSourceRoutingTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    HikariDataSource replica;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void readOnly_트랜잭션은_replica() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            Connection connection = connect();
+            try {
+                assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+                assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isEqualTo(0);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+    }
+
+    @Test
+    void 쓰기_트랜잭션은_primary() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            Connection connection = connect();
+            try {
+                assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+                assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isEqualTo(0);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+    }
+
+    @Test
+    void OSIV_요청_안에서도_트랜잭션마다_라우팅() throws Exception {
+        // 같은 요청(같은 영속성 컨텍스트)에서 읽기 전용 트랜잭션 다음에 쓰기 트랜잭션
+        mvc.perform(get("/test/routing"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("replica,primary"));
+    }
+
+    // LazyConnectionDataSourceProxy라서 실제로 쓰기 전까지는 풀에서 커넥션을 꺼내지 않는다.
+    private Connection connect() {
+        return connect(dataSource);
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.getMetaData();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return connection;
+    }
+
+    @TestConfiguration
+    static class RoutingProbeConfig {
+
+        @Bean
+        RoutingProbeController routingProbeController(DataSource dataSource,
+                                                      @Qualifier("primaryDataSource") HikariDataSource primary,
+                                                      @Qualifier("replicaDataSource") HikariDataSource replica,
+                                                      PlatformTransactionManager transactionManager) {
+            return new RoutingProbeController(dataSource, primary, replica, transactionManager);
+        }
+    }
+
+    // @Controller를 붙이면 다른 테스트의 컴포넌트 스캔에도 잡히기 때문에 @RequestMapping만 붙여서 빈으로 등록한다.
+    @RequestMapping("/test/routing")
+    static class RoutingProbeController {
+
+        private final DataSource dataSource;
+        private final HikariDataSource primary;
+        private final HikariDataSource replica;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate transaction;
+
+        RoutingProbeController(DataSource dataSource, HikariDataSource primary, HikariDataSource replica,
+                               PlatformTransactionManager transactionManager) {
+            this.dataSource = dataSource;
+            this.primary = primary;
+            this.replica = replica;
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.transaction = new TransactionTemplate(transactionManager);
+        }
+
+        @GetMapping
+        @ResponseBody
+        public String readThenWrite() {
+            return readOnly.execute(status -> activePool()) + "," + transaction.execute(status -> activePool());
+        }
+
+        // 지금 트랜잭션의 커넥션이 어느 풀에서 나왔는지
+        private String activePool() {
+            Connection connection = connect(dataSource);
+            try {
+                int primaryActive = primary.getHikariPoolMXBean().getActiveConnections();
+                int replicaActive = replica.getHikariPoolMXBean().getActiveConnections();
+                if (primaryActive == 1 && replicaActive == 0) {
+                    return "primary";
+                }
+                if (replicaActive == 1 && primaryActive == 0) {
+                    return "replica";
+                }
+                return "primary=" + primaryActive + " replica=" + replicaActive;
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package jpabook.jpashop.base.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.sql.SqlCount;
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.item.repository.ItemRepository;
+import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.member.repository.MemberRepository;
+import jpabook.jpashop.member.service.MemberService;
+import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ServiceMetricAspectTest {
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    @Transactional
+    void 회원가입_메트릭() throws Exception {
+        memberService.join(new Member("metricMember", new Address("서울", "1", "1111")));
+        assertThatThrownBy(() -> memberService.join(new Member("metricMember", new Address("서울", "1", "1111"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        Timer success = meterRegistry.get("shop.service")
+                .tags("operation", "member.join", "outcome", "SUCCESS")
+                .timer();
+        Timer error = meterRegistry.get("shop.service")
+                .tags("operation", "member.join", "outcome", "ERROR", "exception", "IllegalStateException")
+                .timer();
+        DistributionSummary statements = meterRegistry.get("shop.service.sql.statements")
+                .tags("operation", "member.join", "outcome", "SUCCESS")
+                .summary();
+
+        assertThat(success.count()).isGreaterThanOrEqualTo(1);
+        assertThat(error.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive(); // 회원 insert
+    }
+
+    /**
+     * 테스트 트랜잭션 없이 실행해야 서비스 트랜잭션이 메서드가 끝날 때 커밋된다.
+     * 주문 insert는 커밋 시점의 flush에서 나가므로, 트랜잭션 바깥에서 잰 SQL 수에 들어 있어야 한다.
+     */
+    @Test
+    void 커밋시점_flush도_SQL수에_포함() throws Exception {
+        Long memberId = memberRepository.findAll().get(0).getId();
+        Long itemId = itemRepository.findAll().stream()
+                .filter(item -> item.getStockQuantity() > 0)
+                .findFirst().orElseThrow().getId();
+        double statementsBefore = statementsTotal("order.place");
+
+        SqlCount sqlCount = SqlCountHolder.start();
+        Long orderId = orderService.order(memberId, itemId, 1);
+        SqlCountHolder.clear();
+
+        try {
+            assertThat(sqlCount.getInsert()).as("배송, 주문, 주문상품 insert").isGreaterThanOrEqualTo(3);
+            assertThat(statementsTotal("order.place") - statementsBefore).isEqualTo(sqlCount.getTotal());
+        } finally {
+            // 커밋된 주문을 지워서 다른 테스트에 남기지 않는다. (취소로 재고 복구)
+            orderService.cancelOrder(orderId);
+            transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Order.class, orderId)));
+        }
+    }
+
+    private double statementsTotal(String operation) {
+        DistributionSummary summary = meterRegistry.find("shop.service.sql.statements")
+                .tags("operation", operation, "outcome", "SUCCESS")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,64 @@
+package jpabook.jpashop.base.readonly;
+
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트랜잭션 없이 영속성 컨텍스트만 열어두고(OSIV) 컨트롤러를 호출한다.
+ */
+@SpringBootTest
+class ReadOnlyQueryAspectTest {
+
+    @Autowired
+    OrderSimpleApiController orderSimpleApiController;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    EntityManager em;
+
+    @BeforeEach
+    void openEntityManager() {
+        em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        TransactionSynchronizationManager.unbindResource(emf);
+        EntityManagerFactoryUtils.closeEntityManager(em);
+    }
+
+    @Test
+    void 조회한_엔티티는_읽기전용() throws Exception {
+        orderSimpleApiController.ordersV3();
+
+        Session session = em.unwrap(Session.class);
+        @SuppressWarnings("unchecked")
+        Set<EntityKey> entityKeys = session.getStatistics().getEntityKeys();
+
+        assertThat(entityKeys).isNotEmpty();
+        assertThat(entityKeys).allSatisfy(key ->
+                assertThat(session.isReadOnly(session.get(key.getEntityName(), key.getIdentifier()))).isTrue());
+
+        // 메서드가 끝나면 세션 설정은 원래대로 돌아온다.
+        assertThat(session.isDefaultReadOnly()).isFalse();
+        assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+    }
+}
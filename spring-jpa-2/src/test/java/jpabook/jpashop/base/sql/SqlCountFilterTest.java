@@ -0,0 +1,41 @@
+package jpabook.jpashop.base.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlCountFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void 기본은_버퍼링없이_메트릭만() throws Exception {
+        SqlCountFilter filter = new SqlCountFilter(meterRegistry, 3, false, List.of());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v2/members"), response, chain);
+
+        // 응답을 감싸지 않고 그대로 넘긴다.
+        assertThat(chain.getResponse()).isSameAs(response);
+        assertThat(response.getHeader(SqlCountFilter.SQL_COUNT_HEADER)).isNull();
+        assertThat(meterRegistry.get("http.server.requests.sql.count").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 헤더를_켜면_헤더도_쓴다() throws Exception {
+        SqlCountFilter filter = new SqlCountFilter(meterRegistry, 3, true, List.of());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v2/members"), response, new MockFilterChain());
+
+        assertThat(response.getHeader(SqlCountFilter.SQL_COUNT_HEADER)).isEqualTo("0");
+        assertThat(meterRegistry.get("http.server.requests.sql.count").summary().count()).isEqualTo(1);
+    }
+}
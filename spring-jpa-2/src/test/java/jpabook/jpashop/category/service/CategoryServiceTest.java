@@ -0,0 +1,122 @@
+package jpabook.jpashop.category.service;
+
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.category.entity.Category;
+import jpabook.jpashop.category.repository.CategoryRepository;
+import jpabook.jpashop.item.base.Book;
+import jpabook.jpashop.item.entity.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class CategoryServiceTest {
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManager em;
+
+    Long bookId;
+    Long itId;
+    Long javaId;
+    Long novelId;
+
+    /**
+     * 도서
+     *  ├─ IT ─ 자바
+     *  └─ 소설
+     */
+    @BeforeEach
+    void before() {
+        bookId = categoryService.create("도서", null);
+        itId = categoryService.create("IT", bookId);
+        javaId = categoryService.create("자바", itId);
+        novelId = categoryService.create("소설", bookId);
+
+        Book jpa = Book.create("JPA BOOK", 10000, 10);
+        Book novel = Book.create("NOVEL BOOK", 8000, 10);
+        em.persist(jpa);
+        em.persist(novel);
+        categoryService.addItem(javaId, jpa.getId());
+        categoryService.addItem(novelId, novel.getId());
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    void 카테고리_경로() throws Exception {
+        Category java = categoryRepository.findOne(javaId);
+
+        assertThat(java.getPath()).isEqualTo("/" + bookId + "/" + itId + "/");
+        assertThat(java.getDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void 하위_트리_조회() throws Exception {
+        List<Category> subtree = categoryService.findSubtree(bookId);
+
+        assertThat(subtree).extracting("id").containsExactly(bookId, itId, novelId, javaId);
+    }
+
+    @Test
+    void 하위_카테고리_상품까지_한번에_조회() throws Exception {
+        Category book = categoryRepository.findOne(bookId);
+        SqlCountHolder.start();
+
+        List<Item> items = categoryRepository.findItemsInSubtree(book);
+
+        assertThat(items).extracting("name").containsExactly("JPA BOOK", "NOVEL BOOK");
+        assertSelectCount(1);
+        assertThat(categoryService.findItems(itId)).extracting("name").containsExactly("JPA BOOK");
+    }
+
+    @Test
+    void 카테고리_이동() throws Exception {
+        // IT를 소설 아래로 옮기면 자바도 같이 따라간다.
+        categoryService.move(itId, novelId);
+        em.flush();
+        em.clear();
+
+        Category java = categoryRepository.findOne(javaId);
+        assertThat(java.getPath()).isEqualTo("/" + bookId + "/" + novelId + "/" + itId + "/");
+        assertThat(java.getDepth()).isEqualTo(3);
+        assertThat(categoryService.findItems(novelId)).extracting("name").containsExactly("JPA BOOK", "NOVEL BOOK");
+    }
+
+    @Test
+    void 하위_카테고리_아래로_이동_불가() throws Exception {
+        assertThrows(IllegalStateException.class, () -> categoryService.move(itId, javaId));
+        assertThrows(IllegalStateException.class, () -> categoryService.move(itId, itId));
+    }
+
+    @Test
+    void 트리_스냅샷() throws Exception {
+        CategoryTree tree = CategoryTree.of(categoryRepository.findAllFlat());
+
+        CategoryNode book = tree.find(bookId).orElseThrow();
+        assertThat(book.getChildren()).extracting("name").containsExactly("IT", "소설");
+        assertThat(tree.findPath(javaId)).extracting("name").containsExactly("도서", "IT", "자바");
+    }
+}
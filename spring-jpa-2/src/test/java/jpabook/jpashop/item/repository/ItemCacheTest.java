@@ -0,0 +1,90 @@
+package jpabook.jpashop.item.repository;
+
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.item.entity.Item;
+import jpabook.jpashop.member.repository.MemberRepository;
+import jpabook.jpashop.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ItemCacheTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    OrderService orderService;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    void 상품_2차캐시() throws Exception {
+        List<Item> items = itemRepository.findAll();
+        Long itemId = items.get(0).getId();
+        em.clear();
+
+        // 영속성 컨텍스트를 비워도 2차 캐시, 쿼리 캐시에서 읽기 때문에 DB에 가지 않는다.
+        SqlCountHolder.start();
+        Item item = itemRepository.findOne(itemId);
+        List<Item> cachedItems = itemRepository.findAll();
+
+        assertSelectCount(0);
+        assertThat(item.getId()).isEqualTo(itemId);
+        assertThat(cachedItems).hasSameSizeAs(items);
+    }
+
+    @Test
+    void 재고차감시_캐시무효화() throws Exception {
+        Item item = itemRepository.findAll().get(0);
+        int stockQuantity = item.getStockQuantity();
+
+        itemRepository.removeStock(item, 1);
+        em.clear();
+
+        // 차감한 상품은 2차 캐시에서 빠지기 때문에 캐시에 남은 이전 재고를 읽지 않는다.
+        assertThat(itemRepository.findOne(item.getId()).getStockQuantity()).isEqualTo(stockQuantity - 1);
+    }
+
+    @Test
+    void 주문해도_다른_상품_캐시는_유지() throws Exception {
+        List<Item> items = itemRepository.findAll();
+        assertThat(items).hasSizeGreaterThanOrEqualTo(2);
+        Long orderedItemId = items.get(0).getId();
+        Long otherItemId = items.get(1).getId();
+        Long memberId = memberRepository.findAll().get(0).getId();
+
+        orderService.order(memberId, orderedItemId, 1);
+        em.flush();
+        em.clear();
+
+        // 다른 상품과 상품 목록 쿼리 캐시는 그대로 남고, 주문한 상품 하나만 다시 읽는다.
+        SqlCountHolder.start();
+        itemRepository.findOne(otherItemId);
+        assertSelectCount(0);
+
+        List<Item> cachedItems = itemRepository.findAll();
+        assertSelectCount(1);
+        assertThat(cachedItems).hasSameSizeAs(items);
+    }
+}
@@ -0,0 +1,129 @@
+package jpabook.jpashop.item.repository;
+
+import jpabook.jpashop.item.base.Book;
+import jpabook.jpashop.item.entity.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 같은 상품의 재고를 동시에 차감할 때 전략별 정합성, 처리 시간 비교
+ * 1. 더티 체킹 (@Version) : lost update는 막지만 충돌한 요청은 실패한다.
+ * 2. 더티 체킹 + 재시도 : 모두 성공하지만 충돌이 많을수록 재시도 비용이 커진다.
+ * 3. 조건부 update : 모두 성공, DB가 원자적으로 차감
+ */
+@SpringBootTest
+class ItemStockConcurrencyTest {
+
+    private static final int THREAD_COUNT = 32;
+    private static final int REQUEST_COUNT = 100;
+
+    @Autowired ItemRepository itemRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @PersistenceContext EntityManager em;
+
+    private Long itemId;
+
+    @BeforeEach
+    void before() {
+        itemId = transactionTemplate.execute(status -> {
+            Book book = Book.create("CONCURRENCY BOOK", 10000, REQUEST_COUNT);
+            itemRepository.save(book);
+            return book.getId();
+        });
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Item.class, itemId)));
+    }
+
+    @Test
+    void 더티체킹() throws Exception {
+        AtomicInteger success = new AtomicInteger();
+        long elapsed = runConcurrently(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> em.find(Item.class, itemId).removeStock(1));
+                success.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                // 다른 트랜잭션이 먼저 차감 -> 실패
+            }
+        });
+
+        int stock = currentStock();
+        print("dirty checking", elapsed, success.get(), stock);
+        assertThat(stock).isEqualTo(REQUEST_COUNT - success.get()); // 유실된 차감은 없어야 한다.
+    }
+
+    @Test
+    void 더티체킹_재시도() throws Exception {
+        AtomicInteger retry = new AtomicInteger();
+        long elapsed = runConcurrently(() -> {
+            while (true) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> em.find(Item.class, itemId).removeStock(1));
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    retry.incrementAndGet();
+                }
+            }
+        });
+
+        int stock = currentStock();
+        print("dirty checking + retry (retry = " + retry.get() + ")", elapsed, REQUEST_COUNT, stock);
+        assertThat(stock).isZero();
+    }
+
+    @Test
+    void 조건부_update() throws Exception {
+        long elapsed = runConcurrently(() ->
+                transactionTemplate.executeWithoutResult(status ->
+                        itemRepository.removeStock(itemRepository.findOne(itemId), 1)));
+
+        int stock = currentStock();
+        print("conditional update", elapsed, REQUEST_COUNT, stock);
+        assertThat(stock).isZero();
+    }
+
+    private long runConcurrently(Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(REQUEST_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            executor.submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        executor.shutdown();
+        return elapsedMillis;
+    }
+
+    private int currentStock() {
+        return transactionTemplate.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+    }
+
+    private void print(String strategy, long elapsedMillis, int success, int stock) {
+        System.out.println(strategy + " : elapsed = " + elapsedMillis + "ms, success = " + success + ", stock = " + stock);
+    }
+}
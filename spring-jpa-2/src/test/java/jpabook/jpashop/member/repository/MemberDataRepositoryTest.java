@@ -0,0 +1,63 @@
+package jpabook.jpashop.member.repository;
+
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.base.sql.SqlCount;
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.member.entity.Member;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberDataRepositoryTest {
+
+    @Autowired
+    MemberDataRepository memberDataRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    void 인터페이스_프로젝션() throws Exception {
+        memberDataRepository.save(new Member("projection", new Address("서울", "1", "1111")));
+        em.flush();
+        em.clear();
+
+        SqlCount sqlCount = SqlCountHolder.start();
+        List<MemberSummary> members = memberDataRepository.findAllBy(MemberSummary.class);
+
+        assertThat(members).anySatisfy(m -> {
+            assertThat(m.getName()).isEqualTo("projection");
+            assertThat(m.getAddress().getCity()).isEqualTo("서울");
+        });
+
+        // 엔티티로 조회하지 않으므로 영속성 컨텍스트에 올라가지 않고, 선언한 컬럼만 읽는다.
+        assertThat(sqlCount.getSelect()).isEqualTo(1);
+        assertThat(sqlCount.getMostRepeatedSelect()).doesNotContain("created_date", "updated_date");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    @Test
+    void 동적_프로젝션으로_엔티티_조회() throws Exception {
+        memberDataRepository.save(new Member("entity", new Address("진주", "2", "2222")));
+
+        List<Member> members = memberDataRepository.findAllBy(Member.class);
+
+        assertThat(members).extracting("name").contains("entity");
+        assertThat(memberDataRepository.findByName("entity")).isPresent();
+    }
+}
@@ -0,0 +1,39 @@
+package jpabook.jpashop.member.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberNameFilterTest {
+
+    @Test
+    void 넣은_이름은_항상_포함() throws Exception {
+        MemberNameFilter filter = new MemberNameFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("member" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void 오탐률() throws Exception {
+        MemberNameFilter filter = new MemberNameFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("guest" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 목표 1%, 여유를 두고 3% 이하
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.mightContain(null)).isFalse();
+    }
+}
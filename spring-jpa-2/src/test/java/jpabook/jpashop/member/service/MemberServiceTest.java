@@ -2,6 +2,7 @@ package jpabook.jpashop.member.service;
 
 import jpabook.jpashop.base.data.Address;
 import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.member.repository.MemberRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +23,9 @@ class MemberServiceTest {
     @Autowired
     MemberService memberService;
 
+    @Autowired
+    MemberRepository memberRepository;
+
     @Test
     @DisplayName("회원 가입 테스트")
     void joinTest() throws Exception {
@@ -49,4 +55,59 @@ class MemberServiceTest {
         }, "해당 예외가 발생하지 않았습니다! 예외 타입을 바꿔주세요!");
     }
 
+    @Test
+    @DisplayName("블룸 필터에 없는 이름이라도 유니크 인덱스로 중복을 막는다.")
+    void validateByUniqueIndexTest() throws Exception {
+        // 가입 경로를 거치지 않고 저장된 회원은 블룸 필터에 없다.
+        memberRepository.save(new Member("unfiltered", new Address("서울", "동대문구", "망우로20길")));
+
+        assertThrows(IllegalStateException.class, () -> {
+            memberService.join(new Member("unfiltered", new Address("서울", "동대문구", "망우로30길")));
+        });
+    }
+
+    @Test
+    @DisplayName("이미 있는 이름으로 변경하면 가입과 같은 예외")
+    void updateDuplicateTest() throws Exception {
+        memberService.join(new Member("renameTarget", new Address("서울", "동대문구", "1")));
+        Long memberId = memberService.join(new Member("renameSource", new Address("서울", "동대문구", "2")));
+
+        assertThrows(IllegalStateException.class, () -> memberService.update(memberId, "renameTarget"));
+    }
+
+    @Test
+    @DisplayName("블룸 필터에 없는 이름으로 변경해도 유니크 인덱스로 막는다.")
+    void updateDuplicateByUniqueIndexTest() throws Exception {
+        memberRepository.save(new Member("unfilteredTarget", new Address("서울", "동대문구", "1")));
+        Long memberId = memberService.join(new Member("unfilteredSource", new Address("서울", "동대문구", "2")));
+
+        assertThrows(IllegalStateException.class, () -> memberService.update(memberId, "unfilteredTarget"));
+    }
+
+    @Test
+    @DisplayName("회원 일괄 가입 테스트")
+    void joinAllTest() throws Exception {
+        List<Member> members = List.of(
+                new Member("bulk1", new Address("서울", "동대문구", "1")),
+                new Member("bulk2", new Address("서울", "동대문구", "2")));
+
+        List<Long> memberIds = memberService.joinAll(members);
+
+        assertThat(memberIds).hasSize(2);
+        assertThat(memberService.findOne(memberIds.get(1)).getName()).isEqualTo("bulk2");
+    }
+
+    @Test
+    @DisplayName("회원 일괄 가입 중복 테스트")
+    void joinAllDuplicateTest() throws Exception {
+        memberService.join(new Member("bulk1", new Address("서울", "동대문구", "1")));
+
+        assertThrows(IllegalStateException.class, () -> memberService.joinAll(List.of(
+                new Member("bulk1", new Address("서울", "동대문구", "1")),
+                new Member("bulk2", new Address("서울", "동대문구", "2")))));
+        assertThrows(IllegalStateException.class, () -> memberService.joinAll(List.of(
+                new Member("bulk3", new Address("서울", "동대문구", "3")),
+                new Member("bulk3", new Address("서울", "동대문구", "3")))));
+    }
+
 }
\ No newline at end of file
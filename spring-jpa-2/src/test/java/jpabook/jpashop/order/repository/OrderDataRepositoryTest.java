@@ -0,0 +1,28 @@
+package jpabook.jpashop.order.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderDataRepositoryTest {
+
+    @Autowired
+    OrderDataRepository orderDataRepository;
+
+    @Test
+    void 이름있는_쿼리_레코드_프로젝션_페이징() throws Exception {
+        Page<OrderView> page = orderDataRepository.findOrderViews(PageRequest.of(0, 1));
+
+        // InitData로 주문 2건 (userA, userB)
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(2);
+        assertThat(page.getContent().get(0).memberName()).isNotNull();
+    }
+}
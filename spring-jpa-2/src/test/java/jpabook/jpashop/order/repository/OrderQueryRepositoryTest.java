@@ -0,0 +1,97 @@
+package jpabook.jpashop.order.repository;
+
+import jpabook.jpashop.base.sql.SqlCountHolder;
+import jpabook.jpashop.delivery.entity.Delivery;
+import jpabook.jpashop.delivery.entity.DeliveryStatus;
+import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.member.repository.MemberRepository;
+import jpabook.jpashop.order.entity.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertNoNPlusOne;
+import static jpabook.jpashop.base.sql.SqlCountAssertions.assertSelectCount;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderQueryRepositoryTest {
+
+    @Autowired
+    OrderQueryRepository orderQueryRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void clearSqlCount() {
+        SqlCountHolder.clear();
+    }
+
+    @Test
+    void findAllByDto_optimization() throws Exception {
+        List<OrderQueryDto> v4 = orderQueryRepository.findOrderQueryDtos();
+        List<OrderQueryDto> v5 = orderQueryRepository.findAllByDto_optimization();
+
+        // 쿼리 횟수만 줄었을 뿐 결과는 V4와 같아야 한다.
+        assertThat(v5).isEqualTo(v4);
+        assertThat(v5).allSatisfy(o -> assertThat(o.getOrderItems()).isNotNull());
+    }
+
+    @Test
+    void findAllByDto_optimization_queryCount() throws Exception {
+        SqlCountHolder.start();
+
+        orderQueryRepository.findAllByDto_optimization();
+
+        // 주문 1번 + 주문상품 in 1번, 주문 수와 상관없이 2번
+        assertSelectCount(2);
+        assertNoNPlusOne();
+    }
+
+    @Test
+    void findAllByDto_flat() throws Exception {
+        List<OrderQueryDto> firstPage = orderQueryRepository.findAllByDto_flat(0L, 1);
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getOrderItems()).isNotEmpty();
+
+        // 다음 페이지는 이전 페이지의 마지막 주문 id 이후부터 시작한다.
+        Long lastOrderId = firstPage.get(firstPage.size() - 1).getOrderId();
+        List<OrderQueryDto> nextPage = orderQueryRepository.findAllByDto_flat(lastOrderId, 1);
+        assertThat(nextPage).allSatisfy(order -> assertThat(order.getOrderId()).isGreaterThan(lastOrderId));
+    }
+
+    @Test
+    void findAllByDto_flat_주문상품없는_주문() throws Exception {
+        Member member = memberRepository.findAll().get(0);
+        Delivery delivery = new Delivery();
+        delivery.setAddressAndStatus(member.getAddress(), DeliveryStatus.READY);
+        Order emptyOrder = Order.createOrder(member, delivery);
+        orderRepository.save(emptyOrder);
+
+        List<OrderQueryDto> v5 = orderQueryRepository.findAllByDto_optimization();
+        List<OrderQueryDto> v6 = orderQueryRepository.findAllByDto_flat(0L, Integer.MAX_VALUE);
+
+        // 주문상품이 없는 주문도 빠지지 않고, 주문마다 주문상품 수는 V5와 같아야 한다.
+        assertThat(v6).extracting(OrderQueryDto::getOrderId)
+                .containsExactlyInAnyOrderElementsOf(v5.stream().map(OrderQueryDto::getOrderId).collect(toList()));
+        assertThat(v6).filteredOn(order -> order.getOrderId().equals(emptyOrder.getId()))
+                .singleElement()
+                .satisfies(order -> assertThat(order.getOrderItems()).isEmpty());
+        Map<Long, Integer> v5ItemCounts = v5.stream()
+                .collect(toMap(OrderQueryDto::getOrderId, order -> order.getOrderItems().size()));
+        assertThat(v6).allSatisfy(order ->
+                assertThat(order.getOrderItems()).hasSize(v5ItemCounts.get(order.getOrderId())));
+    }
+}
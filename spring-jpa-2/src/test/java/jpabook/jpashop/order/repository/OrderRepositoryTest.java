@@ -0,0 +1,58 @@
+package jpabook.jpashop.order.repository;
+
+import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.order.entity.OrderSearch;
+import jpabook.jpashop.order.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    void findAllWithItem() throws Exception {
+        em.flush();
+        em.clear();
+
+        List<Order> orders = orderRepository.findAllWithItem(0, 1);
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        // 주문은 DB에서 페이징되고, 주문상품은 두 번째 쿼리로 이미 채워져 있어야 한다.
+        assertThat(orders.size()).isEqualTo(1);
+        assertThat(util.isLoaded(orders.get(0), "orderItems")).isTrue();
+    }
+
+    @Test
+    void findAllByOrderSearch() throws Exception {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName("userA");
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+
+        List<Order> orders = orderRepository.findAll(orderSearch);
+        long count = orderRepository.count(orderSearch);
+
+        assertThat(orders).isNotEmpty();
+        assertThat(orders).allSatisfy(o -> {
+            assertThat(o.getMember().getName()).isEqualTo("userA");
+            assertThat(o.getStatus()).isEqualTo(OrderStatus.ORDER);
+        });
+        assertThat(count).isEqualTo(orders.size());
+        assertThat(orderRepository.findAll(orderSearch, 0, 1).size()).isEqualTo(1);
+    }
+}
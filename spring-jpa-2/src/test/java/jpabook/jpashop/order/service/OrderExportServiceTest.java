@@ -0,0 +1,65 @@
+package jpabook.jpashop.order.service;
+
+import jpabook.jpashop.order.repository.OrderSimpleQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class OrderExportServiceTest {
+
+    @Autowired
+    OrderExportService orderExportService;
+
+    @Autowired
+    OrderSimpleQueryRepository orderSimpleQueryRepository;
+
+    @Test
+    void 주문_CSV_내보내기() throws Exception {
+        int orderCount = orderSimpleQueryRepository.findOrderDtos().size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.export(ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(UTF_8).lines().toList();
+        assertThat(count).isEqualTo(orderCount);
+        assertThat(lines).hasSize(orderCount + 1); // 헤더 포함
+        assertThat(lines.get(0)).startsWith("orderId,");
+    }
+
+    @Test
+    void 주문_NDJSON_내보내기() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.export(ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(UTF_8).lines().toList();
+        assertThat(lines).hasSize((int) count);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{\"orderId\":"));
+    }
+
+    @Test
+    void 지원하지_않는_형식() throws Exception {
+        assertThatThrownBy(() -> ExportFormat.from("xml"))
+                .isInstanceOf(UnsupportedExportFormatException.class);
+    }
+
+    @Test
+    void CSV_값_이스케이프() throws Exception {
+        assertThat(OrderExportService.csv("서울")).isEqualTo("서울");
+        assertThat(OrderExportService.csv("a,b")).isEqualTo("\"a,b\"");
+        assertThat(OrderExportService.csv("a\"b")).isEqualTo("\"a\"\"b\"");
+        // \r만 있어도 RFC 4180 리더는 줄을 나누기 때문에 감싸야 한다.
+        assertThat(OrderExportService.csv("a\rb")).isEqualTo("\"a\rb\"");
+        assertThat(OrderExportService.csv("a\nb")).isEqualTo("\"a\nb\"");
+    }
+}
@@ -0,0 +1,71 @@
+package jpabook.jpashop.order.service;
+
+import jpabook.jpashop.base.data.Address;
+import jpabook.jpashop.delivery.entity.Delivery;
+import jpabook.jpashop.delivery.entity.DeliveryStatus;
+import jpabook.jpashop.item.base.Book;
+import jpabook.jpashop.member.entity.Member;
+import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.orderitem.entity.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문(Order + OrderItem + Delivery) 그래프 insert 처리량 측정
+ * 시퀀스(pooled) id + hibernate.jdbc.batch_size 설정으로 배치 insert가 되는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class OrderInsertBenchmarkTest {
+
+    private static final int ORDER_COUNT = 1000;
+    private static final int FLUSH_SIZE = 100; // hibernate.jdbc.batch_size와 맞춘다.
+
+    @PersistenceContext EntityManager em;
+
+    @Test
+    void 주문_대량_insert() throws Exception {
+        Member member = Member.builder()
+                .name("benchmark")
+                .address(new Address("서울", "동대문구", "휘경동"))
+                .build();
+        em.persist(member);
+
+        Book book = Book.create("JPA BOOK", 10000, ORDER_COUNT * 2);
+        em.persist(book);
+        em.flush();
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= ORDER_COUNT; i++) {
+            Delivery delivery = new Delivery();
+            delivery.setAddressAndStatus(member.getAddress(), DeliveryStatus.READY);
+
+            OrderItem orderItem = OrderItem.createOrderItem(book, book.getPrice(), 1);
+            em.persist(Order.createOrder(member, delivery, orderItem));
+
+            // 영속성 컨텍스트가 커지지 않도록 배치 단위로 내보내고 비운다.
+            if (i % FLUSH_SIZE == 0) {
+                em.flush();
+                em.clear();
+                member = em.find(Member.class, member.getId());
+                book = em.find(Book.class, book.getId());
+            }
+        }
+        em.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("orders = " + ORDER_COUNT + ", elapsed = " + elapsedMillis + "ms"
+                + ", throughput = " + (ORDER_COUNT * 1000L / Math.max(elapsedMillis, 1)) + " orders/s");
+
+        Long count = em.createQuery("select count(o) from Order o where o.member = :member", Long.class)
+                .setParameter("member", member)
+                .getSingleResult();
+        assertThat(count).isEqualTo(ORDER_COUNT);
+    }
+}
@@ -6,6 +6,7 @@ import jpabook.jpashop.item.base.Book;
 import jpabook.jpashop.item.entity.Item;
 import jpabook.jpashop.member.entity.Member;
 import jpabook.jpashop.order.entity.Order;
+import jpabook.jpashop.order.entity.OrderRequest;
 import jpabook.jpashop.order.entity.OrderStatus;
 import jpabook.jpashop.order.repository.OrderRepository;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,6 +70,60 @@ class OrderServiceTest {
         assertEquals(10, item.getStockQuantity(), "주문이 취소된 상품은 그만큼 재고가 증가해야 한다.");
     }
 
+    @Test
+    void 상품일괄주문() throws Exception {
+        Member member = createMember();
+        Item item1 = createBook("SPRING JPA", 10000, 10);
+        Item item2 = createBook("CentOS9", 20000, 10);
+
+        List<Long> orderIds = orderService.placeOrders(List.of(
+                new OrderRequest(member.getId(), item1.getId(), 2),
+                new OrderRequest(member.getId(), item1.getId(), 3),
+                new OrderRequest(member.getId(), item2.getId(), 1)));
+
+        assertEquals(3, orderIds.size(), "요청한 건수만큼 주문이 생성되어야 한다.");
+        assertEquals(5, item1.getStockQuantity(), "같은 상품은 주문 수량을 합친 만큼 재고가 줄어야 한다.");
+        assertEquals(9, item2.getStockQuantity(), "주문 수량만큼 재고가 줄어야 한다.");
+        assertEquals(OrderStatus.ORDER, orderRepository.findOne(orderIds.get(0)).getStatus(), "상품 주문시 상태는 ORDER");
+    }
+
+    @Test
+    void 상품일괄주문_재고수량초과() throws Exception {
+        Member member = createMember();
+        Item item = createBook("CentOS9", 20000, 5);
+
+        // 건별로는 재고가 충분하지만 합치면 부족하다 -> 아무것도 주문되지 않아야 한다.
+        assertThrows(NotEnoughStockException.class, () -> {
+            orderService.placeOrders(List.of(
+                    new OrderRequest(member.getId(), item.getId(), 3),
+                    new OrderRequest(member.getId(), item.getId(), 3)));
+        }, "재고 수량 예외가 발생해야 한다.");
+        assertEquals(5, item.getStockQuantity(), "재고가 부족하면 재고가 줄어들면 안된다.");
+    }
+
+    @Test
+    void 상품일괄주문_수량이_0이하() throws Exception {
+        Member member = createMember();
+        Item item = createBook("CentOS9", 20000, 5);
+
+        // 합치면 양수지만 음수 수량이 섞여 있으면 아무것도 주문되지 않아야 한다.
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.placeOrders(List.of(
+                    new OrderRequest(member.getId(), item.getId(), 3),
+                    new OrderRequest(member.getId(), item.getId(), -10)));
+        }, "수량 예외가 발생해야 한다.");
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.placeOrders(List.of(new OrderRequest(member.getId(), item.getId(), 0)));
+        }, "수량 예외가 발생해야 한다.");
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.placeOrders(List.of(new OrderRequest(member.getId(), null, 1)));
+        }, "상품이 없으면 예외가 발생해야 한다.");
+
+        em.flush();
+        em.clear();
+        assertEquals(5, em.find(Item.class, item.getId()).getStockQuantity(), "재고가 바뀌면 안된다.");
+    }
+
     private Member createMember() {
         Member member = Member.builder()
                 .name("동민")